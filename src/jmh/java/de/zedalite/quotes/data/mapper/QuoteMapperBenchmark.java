@@ -0,0 +1,38 @@
+package de.zedalite.quotes.data.mapper;
+
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteMessage;
+import de.zedalite.quotes.data.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteMapperBenchmark {
+
+  private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
+
+  private final Quote quote = new Quote(1, "tester", LocalDateTime.now(), "<@12> says quotes are awesome", "@Home", 4);
+
+  private final List<User> mentions = List.of(new User(12, "mentionedUser", "secret555", "mentionedUser", LocalDateTime.MIN));
+
+  @Benchmark
+  public QuoteMessage mapToQuoteMessage() {
+    return QUOTE_MAPPER.mapToQuoteMessage(quote, mentions);
+  }
+}
@@ -0,0 +1,38 @@
+package de.zedalite.quotes.data.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteMessageBenchmark {
+
+  private final QuoteMessage shortQuote = new QuoteMessage(1, "tester", LocalDateTime.now(), "quotes are awesome", null, 1, List.of());
+
+  private final QuoteMessage longQuote = new QuoteMessage(2, "tester", LocalDateTime.now(), "quotes are awesome ".repeat(13), null, 1, List.of());
+
+  @Benchmark
+  public String truncateShortText() {
+    return shortQuote.truncateText();
+  }
+
+  @Benchmark
+  public String truncateLongText() {
+    return longQuote.truncateText();
+  }
+}
@@ -0,0 +1,51 @@
+package de.zedalite.quotes.data.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteMessageSerializationBenchmark {
+
+  @Param({"1", "50", "500"})
+  private int size;
+
+  // configured like the object mapper of the application
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private List<QuoteMessage> quotes;
+
+  @Setup
+  public void setUp() {
+    final List<User> mentions = List.of(new User(12, "mentionedUser", "secret555", "mentionedUser", LocalDateTime.MIN));
+    quotes = IntStream.range(0, size)
+      .mapToObj(i -> new QuoteMessage(i, "tester", LocalDateTime.now(), "<@12> says quotes are awesome " + i, "@Home", 4, mentions))
+      .toList();
+  }
+
+  @Benchmark
+  public byte[] serializeQuoteMessages() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(quotes);
+  }
+}
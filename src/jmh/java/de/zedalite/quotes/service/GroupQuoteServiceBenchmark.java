@@ -0,0 +1,74 @@
+package de.zedalite.quotes.service;
+
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteCursor;
+import de.zedalite.quotes.data.model.QuotePage;
+import de.zedalite.quotes.data.model.SortField;
+import de.zedalite.quotes.data.model.SortOrder;
+import de.zedalite.quotes.data.model.User;
+import de.zedalite.quotes.repository.GroupQuoteRepository;
+import de.zedalite.quotes.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the service side of the group quote page, from the repository result to the quote messages with
+ * resolved mentions. The repositories are replaced by stubs returning prepared results, so neither the database
+ * nor a mocking framework is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupQuoteServiceBenchmark {
+
+  @Param({"50", "500"})
+  private int limit;
+
+  private GroupQuoteService instance;
+
+  @Setup
+  public void setUp() {
+    final List<User> users = IntStream.range(0, 20)
+      .mapToObj(i -> new User(i, "user" + i, "secret555", "User " + i, LocalDateTime.MIN))
+      .toList();
+    final List<Quote> quotes = IntStream.range(0, limit + 1)
+      .mapToObj(i -> new Quote(i, "tester", LocalDateTime.now(), "<@" + i % 20 + "> says quotes are awesome", "@Home", 4))
+      .toList();
+
+    final GroupQuoteRepository repository = new GroupQuoteRepository(null, null, null, null) {
+      @Override
+      public List<Quote> findAll(final Integer id, final SortField field, final SortOrder order, final QuoteCursor cursor, final Integer limit) {
+        return quotes.subList(0, Math.min(limit, quotes.size()));
+      }
+    };
+    final UserRepository userRepository = new UserRepository(null, null) {
+      @Override
+      public List<User> findAllByIds(final List<Integer> ids) {
+        return users;
+      }
+    };
+    instance = new GroupQuoteService(repository, new MentionService(userRepository), null, null, null);
+  }
+
+  @Benchmark
+  public QuotePage findAll() {
+    return instance.findAll(1, SortField.CREATION_DATE, SortOrder.DESC, null, limit);
+  }
+}
@@ -0,0 +1,42 @@
+package de.zedalite.quotes.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenServiceBenchmark {
+
+  private final JwtTokenService instance = new JwtTokenService("benchmark_secret", 3000L);
+
+  private String token;
+
+  @Setup
+  public void setUp() {
+    token = instance.generateToken("tester");
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return instance.generateToken("tester");
+  }
+
+  @Benchmark
+  public String validateToken() {
+    return instance.validateToken(token);
+  }
+}
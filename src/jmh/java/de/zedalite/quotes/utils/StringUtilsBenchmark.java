@@ -0,0 +1,37 @@
+package de.zedalite.quotes.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+  private final String textWithoutMentions = "quotes are awesome, especially the ones without any mention of another user";
+
+  private final String textWithMentions = "<@12> told <@345> that <@6789> quotes are awesome, <@12> agreed";
+
+  @Benchmark
+  public List<Integer> extractUserIdsWithoutMentions() {
+    return StringUtils.extractUserIds(textWithoutMentions);
+  }
+
+  @Benchmark
+  public List<Integer> extractUserIdsWithMentions() {
+    return StringUtils.extractUserIds(textWithMentions);
+  }
+}
@@ -0,0 +1,63 @@
+package de.zedalite.quotes.web;
+
+import de.zedalite.quotes.config.AccessLogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the access log per request. The benchmark flushes the buffer itself whenever it is full,
+ * so that the score contains the recording on the request thread and the amortized writing of the worker.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessLogBenchmark {
+
+  private static final int CAPACITY = 4096;
+
+  private AccessLog accessLog;
+
+  private int recorded;
+
+  @Setup
+  public void setUp() throws Exception {
+    final AccessLogProperties properties = new AccessLogProperties(AccessLogProperties.Target.FILE, Path.of("/dev/null"),
+      CAPACITY, 512, Duration.ofHours(1), Map.of("/actuator", 0.1));
+    accessLog = new AccessLog(properties, new SimpleMeterRegistry());
+    accessLog.start();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    accessLog.stop();
+  }
+
+  @Benchmark
+  public boolean record() {
+    final boolean sampled = accessLog.isSampled("/api/groups/1/quotes", 4, 200)
+      && accessLog.record(System.currentTimeMillis(), "GET", "/api/groups/1/quotes", "limit=50", 200, "127.0.0.1", "tester", System.nanoTime());
+    if (++recorded == CAPACITY) {
+      recorded = 0;
+      accessLog.flush();
+    }
+    return sampled;
+  }
+}
@@ -0,0 +1,51 @@
+package de.zedalite.quotes.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Records the latencies of one endpoint. All latencies are kept, so that the percentiles are exact.
+ */
+final class LatencyRecorder {
+
+  private long[] latencies = new long[1024];
+
+  private int count;
+
+  private int errors;
+
+  synchronized void record(final long nanos, final boolean success) {
+    if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+    latencies[count++] = nanos;
+    if (!success) errors++;
+  }
+
+  synchronized EndpointReport report(final String endpoint, final Duration duration) {
+    final long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    final double throughput = count / (duration.toNanos() / 1e9);
+    return new EndpointReport(endpoint, count, errors, throughput,
+      percentile(sorted, 0.5), percentile(sorted, 0.99), percentile(sorted, 0.999));
+  }
+
+  private static double percentile(final long[] sorted, final double percentile) {
+    if (sorted.length == 0) return 0;
+    final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1e6;
+  }
+
+  /**
+   * Latencies and throughput of one endpoint.
+   *
+   * @param endpoint     the endpoint name
+   * @param requests     the number of requests
+   * @param errors       the number of requests without a successful response
+   * @param throughput   the requests per second
+   * @param p50Millis    the median latency
+   * @param p99Millis    the 99th percentile latency
+   * @param p999Millis   the 99.9th percentile latency
+   */
+  record EndpointReport(String endpoint, int requests, int errors, double throughput,
+                        double p50Millis, double p99Millis, double p999Millis) {
+  }
+}
@@ -0,0 +1,77 @@
+package de.zedalite.quotes.loadtest;
+
+import org.jooq.DSLContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.Map;
+
+import static de.zedalite.quotes.data.jooq.tables.GroupUsers.GROUP_USERS;
+import static de.zedalite.quotes.data.jooq.tables.Users.USERS;
+
+/**
+ * Seeds users, groups, memberships and quotes with set-based statements, so that large volumes are created within
+ * seconds. All seeded names start with {@link #NAME_PREFIX} and all users share the password {@link #PASSWORD}.
+ */
+final class LoadTestSeeder {
+
+  static final String NAME_PREFIX = "loadtest_";
+
+  static final String PASSWORD = "loadtest123";
+
+  private final DSLContext dsl;
+
+  LoadTestSeeder(final DSLContext dsl) {
+    this.dsl = dsl;
+  }
+
+  /**
+   * Seeds the configured volumes.
+   *
+   * @param settings the load test settings
+   * @return the group ids of every seeded user name
+   */
+  Map<String, List<Integer>> seed(final LoadTestSettings settings) {
+    // hashed once, the hash is shared by all users
+    final String passwordHash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+
+    dsl.execute("""
+      INSERT INTO users (name, password, display_name)
+      SELECT ? || i, ?, 'Load Test ' || i FROM generate_series(1, ?) AS i""",
+      NAME_PREFIX, passwordHash, settings.users());
+
+    dsl.execute("""
+      INSERT INTO groups (name, display_name, creation_date)
+      SELECT ? || i, 'Load Test ' || i, now() FROM generate_series(1, ?) AS i""",
+      NAME_PREFIX, settings.groups());
+
+    dsl.execute("""
+      WITH u AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM users WHERE name LIKE ? || '%'),
+           g AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM groups WHERE name LIKE ? || '%')
+      INSERT INTO group_users (group_id, user_id)
+      SELECT g.id, u.id FROM u CROSS JOIN generate_series(0, ? - 1) AS j JOIN g ON g.n = (u.n + j) % ?""",
+      NAME_PREFIX, NAME_PREFIX, Math.min(settings.groupsPerUser(), settings.groups()), settings.groups());
+
+    // every fifth quote mentions a user, so that mentions are resolved as in production
+    dsl.execute("""
+      WITH g AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM groups WHERE name LIKE ? || '%'),
+           q AS (
+             INSERT INTO quotes (author, creation_date, text, context)
+             SELECT 'author ' || i % 50,
+                    now() - i * interval '1 minute',
+                    CASE WHEN i % 5 = 0 THEN '<@' || i % ? + 1 || '> ' ELSE '' END || 'Load test quote ' || i || ' ' || md5(i::text),
+                    CASE WHEN i % 3 = 0 THEN 'load test' END
+             FROM generate_series(1, ? * ?) AS i
+             RETURNING id)
+      INSERT INTO group_quotes (group_id, quote_id)
+      SELECT g.id, q.id FROM (SELECT id, (row_number() OVER (ORDER BY id) - 1) / ? + 1 AS n FROM q) AS q JOIN g ON g.n = q.n""",
+      NAME_PREFIX, settings.users(), settings.groups(), settings.quotesPerGroup(), settings.quotesPerGroup());
+
+    dsl.execute("ANALYZE");
+
+    return dsl.select(USERS.NAME, GROUP_USERS.GROUP_ID)
+      .from(USERS.join(GROUP_USERS).on(GROUP_USERS.USER_ID.eq(USERS.ID)))
+      .where(USERS.NAME.startsWith(NAME_PREFIX))
+      .fetchGroups(USERS.NAME, GROUP_USERS.GROUP_ID);
+  }
+}
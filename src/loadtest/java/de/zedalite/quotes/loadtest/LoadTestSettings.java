@@ -0,0 +1,30 @@
+package de.zedalite.quotes.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Volumes and traffic shape of a load test run, configured with system properties, e.g.
+ * {@code -Dloadtest.quotes-per-group=5000 -Dloadtest.duration=PT5M}.
+ *
+ * @param users          the number of seeded users, each user is one concurrent client at most
+ * @param groups         the number of seeded groups
+ * @param quotesPerGroup the number of seeded quotes of every group
+ * @param groupsPerUser  the number of group memberships of every user
+ * @param concurrency    the number of concurrent clients
+ * @param warmup         the duration of the traffic before measuring
+ * @param duration       the duration of the measured traffic
+ */
+record LoadTestSettings(int users, int groups, int quotesPerGroup, int groupsPerUser, int concurrency,
+                        Duration warmup, Duration duration) {
+
+  static LoadTestSettings fromSystemProperties() {
+    return new LoadTestSettings(
+      Integer.getInteger("loadtest.users", 1000),
+      Integer.getInteger("loadtest.groups", 100),
+      Integer.getInteger("loadtest.quotes-per-group", 1000),
+      Integer.getInteger("loadtest.groups-per-user", 3),
+      Integer.getInteger("loadtest.concurrency", 64),
+      Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+      Duration.parse(System.getProperty("loadtest.duration", "PT60S")));
+  }
+}
@@ -0,0 +1,197 @@
+package de.zedalite.quotes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zedalite.quotes.TestEnvironmentProvider;
+import de.zedalite.quotes.data.model.AuthRequest;
+import de.zedalite.quotes.data.model.AuthResponse;
+import de.zedalite.quotes.data.model.QuoteRequest;
+import de.zedalite.quotes.loadtest.LatencyRecorder.EndpointReport;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives mixed traffic against the api backed by a seeded Postgres and reports latency percentiles and throughput
+ * per endpoint. Runs with the {@code load-test} profile, push notifications are only logged.
+ * <p>
+ * Every client logs in as one seeded user and sends requests for the groups of its user without think time.
+ * The report is written to {@code target/load-test-report.json}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+  "notification.sender=log",
+  "logging.level.de.zedalite.quotes.repository.LoggingPushNotificationSender=WARN"})
+class QuoteApiLoadTest extends TestEnvironmentProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QuoteApiLoadTest.class);
+
+  private static final Path REPORT = Path.of(System.getProperty("loadtest.report", "target/load-test-report.json"));
+
+  private static final double MAX_ERROR_RATE = 0.01;
+
+  @LocalServerPort
+  private int port;
+
+  @Value("${server.servlet.context-path:}")
+  private String contextPath;
+
+  @Autowired
+  private DSLContext dsl;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+  private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+
+  @Test
+  @DisplayName("Should serve mixed traffic")
+  void shouldServeMixedTraffic() throws Exception {
+    final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    LOGGER.info("Seeding {}", settings);
+    final Map<String, List<Integer>> groupIdsByUser = new LoadTestSeeder(dsl).seed(settings);
+    for (final Endpoint endpoint : Endpoint.values()) recorders.put(endpoint, new LatencyRecorder());
+
+    final List<String> userNames = new ArrayList<>(groupIdsByUser.keySet());
+    final long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+    final long measureUntil = measureFrom + settings.duration().toNanos();
+    final List<Future<Void>> clients = new ArrayList<>();
+    try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < settings.concurrency(); i++) {
+        final String userName = userNames.get(i % userNames.size());
+        clients.add(executor.submit(() -> runClient(userName, groupIdsByUser.get(userName), measureFrom, measureUntil)));
+      }
+    }
+    for (final Future<Void> client : clients) client.get();
+
+    final List<EndpointReport> reports = new ArrayList<>();
+    for (final Endpoint endpoint : Endpoint.values()) {
+      reports.add(recorders.get(endpoint).report(endpoint.name(), settings.duration()));
+    }
+    report(settings, reports);
+
+    assertThat(reports).allSatisfy(report -> {
+      assertThat(report.requests()).isPositive();
+      assertThat(report.errors()).isLessThanOrEqualTo((int) (report.requests() * MAX_ERROR_RATE));
+    });
+  }
+
+  private Void runClient(final String userName, final List<Integer> groupIds, final long measureFrom, final long measureUntil) throws IOException, InterruptedException {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final String token = login(userName).token();
+
+    long now;
+    while ((now = System.nanoTime()) < measureUntil) {
+      final Endpoint endpoint = Endpoint.pick(random);
+      final HttpRequest request = buildRequest(endpoint, userName, token, groupIds.get(random.nextInt(groupIds.size())));
+
+      boolean success;
+      try {
+        success = client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode() / 100 == 2;
+      } catch (final IOException ex) {
+        success = false;
+      }
+
+      if (now >= measureFrom) recorders.get(endpoint).record(System.nanoTime() - now, success);
+    }
+    return null;
+  }
+
+  private HttpRequest buildRequest(final Endpoint endpoint, final String userName, final String token, final Integer groupId) throws IOException {
+    return switch (endpoint) {
+      case QUOTES -> get("/groups/" + groupId + "/quotes?limit=50", token);
+      case RANDOMS -> get("/groups/" + groupId + "/quotes/randoms", token);
+      case QUOTE_OF_THE_DAY -> get("/groups/" + groupId + "/qotd", token);
+      case CREATE_QUOTE -> post("/groups/" + groupId + "/quotes", token,
+        new QuoteRequest("load test", LocalDateTime.now().minusMinutes(1), "Created by " + userName, null, null));
+      case LOGIN -> post("/auth/login", null, new AuthRequest(userName, LoadTestSeeder.PASSWORD));
+    };
+  }
+
+  private AuthResponse login(final String userName) throws IOException, InterruptedException {
+    final HttpResponse<byte[]> response = client.send(buildRequest(Endpoint.LOGIN, userName, null, null), HttpResponse.BodyHandlers.ofByteArray());
+    assertThat(response.statusCode()).isEqualTo(200);
+    return objectMapper.readValue(response.body(), AuthResponse.class);
+  }
+
+  private HttpRequest get(final String path, final String token) {
+    return HttpRequest.newBuilder(uri(path))
+      .header("Authorization", "Bearer " + token)
+      .GET()
+      .build();
+  }
+
+  private HttpRequest post(final String path, final String token, final Object body) throws IOException {
+    final HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    if (token != null) builder.header("Authorization", "Bearer " + token);
+    return builder.build();
+  }
+
+  private URI uri(final String path) {
+    return URI.create("http://localhost:" + port + contextPath + path);
+  }
+
+  private void report(final LoadTestSettings settings, final List<EndpointReport> reports) throws IOException {
+    LOGGER.info(String.format("%-18s %9s %7s %10s %9s %9s %9s", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms"));
+    for (final EndpointReport report : reports) {
+      LOGGER.info(String.format("%-18s %9d %7d %10.1f %9.2f %9.2f %9.2f", report.endpoint(), report.requests(), report.errors(),
+        report.throughput(), report.p50Millis(), report.p99Millis(), report.p999Millis()));
+    }
+
+    Files.createDirectories(REPORT.toAbsolutePath().getParent());
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), Map.of("settings", settings, "endpoints", reports));
+  }
+
+  /**
+   * The requested endpoints with their share of the traffic in percent.
+   */
+  private enum Endpoint {
+    QUOTES(40),
+    RANDOMS(20),
+    QUOTE_OF_THE_DAY(25),
+    CREATE_QUOTE(10),
+    LOGIN(5);
+
+    private final int share;
+
+    Endpoint(final int share) {
+      this.share = share;
+    }
+
+    private static Endpoint pick(final ThreadLocalRandom random) {
+      int draw = random.nextInt(100);
+      for (final Endpoint endpoint : values()) {
+        draw -= endpoint.share;
+        if (draw < 0) return endpoint;
+      }
+      return QUOTES;
+    }
+  }
+}
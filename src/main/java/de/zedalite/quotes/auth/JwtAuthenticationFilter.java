@@ -1,6 +1,7 @@
 package de.zedalite.quotes.auth;
 
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import de.zedalite.quotes.service.JwtTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -25,10 +26,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final UserDetailsService userDetailsService;
 
+  private final PrincipalCache principalCache;
 
-  public JwtAuthenticationFilter(final JwtTokenService tokenService, UserDetailsService userDetailsService) {
+  public JwtAuthenticationFilter(final JwtTokenService tokenService, final UserDetailsService userDetailsService, final PrincipalCache principalCache) {
     this.tokenService = tokenService;
     this.userDetailsService = userDetailsService;
+    this.principalCache = principalCache;
   }
 
   @Override
@@ -40,16 +43,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     final String token = header.substring(7);
-    String username;
-    try {
-      username = tokenService.validateToken(token);
-      // TODO logging for security opations?, e.g. unauthorized
-    } catch (JWTVerificationException ex) {
-      filterChain.doFilter(request, response);
-      return;
+    UserDetails userDetails = principalCache.get(token);
+    if (userDetails == null) {
+      final DecodedJWT jwt;
+      try {
+        jwt = tokenService.verifyToken(token);
+        // TODO logging for security opations?, e.g. unauthorized
+      } catch (JWTVerificationException ex) {
+        filterChain.doFilter(request, response);
+        return;
+      }
+
+      userDetails = userDetailsService.loadUserByUsername(jwt.getSubject());
+      if (userDetails instanceof UserPrincipal principal) principalCache.put(token, principal, jwt.getExpiresAtAsInstant());
     }
 
-    final UserDetails userDetails = userDetailsService.loadUserByUsername(username);
     final UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
     SecurityContextHolder.getContext().setAuthentication(authentication);
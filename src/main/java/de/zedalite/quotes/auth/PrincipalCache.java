@@ -0,0 +1,113 @@
+package de.zedalite.quotes.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Caches the principals of already verified tokens until the tokens expire.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are never kept in memory.
+ * A request carrying a cached token skips the signature verification and the user lookup.
+ * Hits and misses are published as {@code cache.gets} metrics of the cache {@value #CACHE_NAME}.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+  private static final String CACHE_NAME = "principals";
+
+  private final Cache<String, CachedPrincipal> cache;
+
+  /**
+   * Creates the principal cache.
+   *
+   * @param maximumSize the maximum number of cached tokens
+   */
+  public PrincipalCache(@Value("${auth.principal-cache.size:10000}") final Long maximumSize) {
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(maximumSize)
+      .expireAfter(new TokenExpiry())
+      .recordStats()
+      .build();
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Returns the principal of a previously verified token.
+   *
+   * @param token the raw token
+   * @return the principal, or null if the token is not cached or expired
+   */
+  public UserPrincipal get(final String token) {
+    final CachedPrincipal cached = cache.getIfPresent(hash(token));
+    return cached != null ? cached.principal() : null;
+  }
+
+  /**
+   * Caches the principal of a verified token until the token expires.
+   *
+   * @param token     the raw, verified token
+   * @param principal the principal of the token subject
+   * @param expiresAt the expiry of the token
+   */
+  public void put(final String token, final UserPrincipal principal, final Instant expiresAt) {
+    if (expiresAt == null || !expiresAt.isAfter(Instant.now())) return;
+    cache.put(hash(token), new CachedPrincipal(principal, expiresAt));
+  }
+
+  /**
+   * Removes all cached principals of a user, e.g. after the password was changed.
+   *
+   * @param username the name of the user
+   */
+  public void invalidate(final String username) {
+    cache.asMap().values().removeIf(cached -> cached.principal().getUsername().equals(username));
+  }
+
+  private static String hash(final String token) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private record CachedPrincipal(UserPrincipal principal, Instant expiresAt) {
+  }
+
+  private static final class TokenExpiry implements Expiry<String, CachedPrincipal> {
+
+    @Override
+    public long expireAfterCreate(@NotNull final String key, @NotNull final CachedPrincipal value, final long currentTime) {
+      return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(@NotNull final String key, @NotNull final CachedPrincipal value, final long currentTime, final long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(@NotNull final String key, @NotNull final CachedPrincipal value, final long currentTime, final long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
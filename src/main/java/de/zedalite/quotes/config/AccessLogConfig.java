@@ -0,0 +1,17 @@
+package de.zedalite.quotes.config;
+
+import de.zedalite.quotes.web.AccessLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+  @Bean(initMethod = "start", destroyMethod = "stop")
+  public AccessLog accessLog(final AccessLogProperties properties, final MeterRegistry meterRegistry) {
+    return new AccessLog(properties, meterRegistry);
+  }
+}
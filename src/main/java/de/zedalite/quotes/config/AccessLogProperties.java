@@ -0,0 +1,43 @@
+package de.zedalite.quotes.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of the access log, bound from {@code access-log.*}.
+ *
+ * @param target        where the access log is written to
+ * @param file          the file the access log is appended to, if the target is {@link Target#FILE}
+ * @param capacity      the number of buffered requests, rounded up to a power of two
+ * @param batchSize     the maximum number of requests written at once
+ * @param flushInterval the interval in which buffered requests are written
+ * @param sampleRates   the share of logged requests by path prefix, e.g. {@code [/actuator]=0.1}.
+ *                      Failed requests are always logged
+ */
+@ConfigurationProperties(prefix = "access-log")
+public record AccessLogProperties(
+  Target target,
+  Path file,
+  Integer capacity,
+  Integer batchSize,
+  Duration flushInterval,
+  Map<String, Double> sampleRates
+) {
+
+  public AccessLogProperties {
+    target = target == null ? Target.STDOUT : target;
+    file = file == null ? Path.of("logs", "access.log") : file;
+    capacity = capacity == null ? 8192 : capacity;
+    batchSize = batchSize == null ? 512 : batchSize;
+    flushInterval = flushInterval == null ? Duration.ofMillis(100) : flushInterval;
+    sampleRates = sampleRates == null ? Map.of() : Map.copyOf(sampleRates);
+  }
+
+  public enum Target {
+    STDOUT,
+    FILE
+  }
+}
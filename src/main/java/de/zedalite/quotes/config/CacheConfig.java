@@ -0,0 +1,46 @@
+package de.zedalite.quotes.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+/**
+ * Registers the named caffeine caches with their own bounds and expiry.
+ * <p>
+ * All caches record statistics, which the actuator publishes as {@code cache.*} metrics.
+ * The customizer only applies when caffeine is the active cache type, {@code spring.cache.type=none} still disables caching.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+  @Bean
+  public CacheManagerCustomizer<CaffeineCacheManager> caffeineCacheManagerCustomizer(final CacheProperties properties) {
+    return cacheManager -> properties.caffeine().forEach((name, spec) -> cacheManager.registerCustomCache(name, buildCache(spec)));
+  }
+
+  private static com.github.benmanes.caffeine.cache.Cache<Object, Object> buildCache(final CacheProperties.CacheSpec spec) {
+    final Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+    if (spec.maximumSize() != null && spec.maximumWeight() != null) {
+      throw new IllegalStateException("Cache must not define both maximumSize and maximumWeight");
+    }
+    if (spec.maximumSize() != null) builder.maximumSize(spec.maximumSize());
+    if (spec.maximumWeight() != null) builder.maximumWeight(spec.maximumWeight()).weigher(CacheConfig::weigh);
+    if (spec.expireAfterWrite() != null) builder.expireAfterWrite(spec.expireAfterWrite());
+    if (spec.expireAfterAccess() != null) builder.expireAfterAccess(spec.expireAfterAccess());
+
+    return builder.build();
+  }
+
+  private static int weigh(final Object key, final Object value) {
+    if (value instanceof Collection<?> collection) return Math.max(1, collection.size());
+    if (value instanceof int[] array) return Math.max(1, array.length);
+    return 1;
+  }
+}
@@ -0,0 +1,36 @@
+package de.zedalite.quotes.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per cache configuration of the caffeine caches, bound from {@code cache.caffeine.<name>.*}.
+ *
+ * @param caffeine the cache specifications by cache name
+ */
+@ConfigurationProperties(prefix = "cache")
+public record CacheProperties(Map<String, CacheSpec> caffeine) {
+
+  public CacheProperties {
+    caffeine = caffeine == null ? Map.of() : Map.copyOf(caffeine);
+  }
+
+  /**
+   * Bounds and expiry of a single cache. Either a maximum size (number of entries) or a maximum weight
+   * (number of cached elements, collections weigh their size) may be set.
+   *
+   * @param maximumSize       the maximum number of entries
+   * @param maximumWeight     the maximum total weight of all entries
+   * @param expireAfterWrite  the duration after which an entry expires once written
+   * @param expireAfterAccess the duration after which an entry expires once last read or written
+   */
+  public record CacheSpec(
+    Long maximumSize,
+    Long maximumWeight,
+    Duration expireAfterWrite,
+    Duration expireAfterAccess
+  ) {
+  }
+}
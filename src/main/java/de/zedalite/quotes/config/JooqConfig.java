@@ -0,0 +1,31 @@
+package de.zedalite.quotes.config;
+
+import de.zedalite.quotes.repository.QueryMetricsListener;
+import de.zedalite.quotes.repository.QueryStatistics;
+import de.zedalite.quotes.repository.QueryStatisticsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Registers the execute listeners on the jOOQ configuration of the shared {@link org.jooq.DSLContext}.
+ */
+@Configuration
+public class JooqConfig {
+
+  @Bean
+  public ExecuteListenerProvider queryStatisticsListenerProvider(final QueryStatistics statistics,
+                                                                 @Value("${query-statistics.slow-query-threshold:PT0.5S}") final Duration threshold) {
+    return new DefaultExecuteListenerProvider(new QueryStatisticsListener(statistics, threshold));
+  }
+
+  @Bean
+  public ExecuteListenerProvider queryMetricsListenerProvider(final MeterRegistry meterRegistry) {
+    return new DefaultExecuteListenerProvider(new QueryMetricsListener(meterRegistry));
+  }
+}
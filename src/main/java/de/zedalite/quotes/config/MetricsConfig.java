@@ -0,0 +1,24 @@
+package de.zedalite.quotes.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the application metrics, which are published on the prometheus endpoint of the actuator.
+ * <p>
+ * Cache hits and misses are published by the actuator as {@code cache.gets} for all caches with recorded statistics.
+ */
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * Static, so that the post processor is created before the repositories without initializing this configuration.
+   * The meter registry is resolved lazily on first use for the same reason.
+   */
+  @Bean
+  public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new RepositoryMetricsPostProcessor(meterRegistry);
+  }
+}
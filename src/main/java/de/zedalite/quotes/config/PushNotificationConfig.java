@@ -5,6 +5,7 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.messaging.FirebaseMessaging;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
@@ -12,6 +13,7 @@ import org.springframework.core.io.Resource;
 import java.io.IOException;
 
 @Configuration
+@ConditionalOnProperty(name = "notification.sender", havingValue = "firebase", matchIfMissing = true)
 public class PushNotificationConfig {
 
   @Value("classpath:firebase-account-key.json")
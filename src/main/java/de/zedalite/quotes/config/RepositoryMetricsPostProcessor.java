@@ -0,0 +1,116 @@
+package de.zedalite.quotes.config;
+
+import de.zedalite.quotes.exceptions.GroupNotFoundException;
+import de.zedalite.quotes.exceptions.QotdNotFoundException;
+import de.zedalite.quotes.exceptions.QuoteNotFoundException;
+import de.zedalite.quotes.exceptions.UserNotFoundException;
+import de.zedalite.quotes.repository.PushNotificationSender;
+import de.zedalite.quotes.repository.QueryMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ClassFilters;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Times the public methods of all repositories, tagged by repository, method and outcome.
+ * <p>
+ * The timing advice is added behind the caching advice of already proxied repositories, so that hits of
+ * {@code @Cacheable} methods are not timed. Hits of caches used inside the methods are timed, the database time of
+ * the methods is published separately by the {@link QueryMetricsListener}, for which the advice registers the
+ * executing method. Push notification senders are metered by their callers.
+ */
+public class RepositoryMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+  static final String METRIC_NAME = "quotes.repository";
+
+  private static final Set<Class<? extends RuntimeException>> NOT_FOUND_EXCEPTIONS = Set.of(
+    GroupNotFoundException.class, QotdNotFoundException.class, QuoteNotFoundException.class, UserNotFoundException.class);
+
+  public RepositoryMetricsPostProcessor(final ObjectProvider<MeterRegistry> meterRegistry) {
+    final ClassFilter classFilter = ClassFilters.intersection(
+      new AnnotationClassFilter(Repository.class, true),
+      clazz -> !PushNotificationSender.class.isAssignableFrom(clazz));
+    final ComposablePointcut pointcut = new ComposablePointcut(classFilter, new PublicMethodMatcher());
+
+    this.advisor = new DefaultPointcutAdvisor(pointcut, new TimingInterceptor(meterRegistry));
+    setProxyTargetClass(true);
+  }
+
+  private static final class PublicMethodMatcher extends StaticMethodMatcher {
+
+    @Override
+    public boolean matches(final Method method, final Class<?> targetClass) {
+      return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+    }
+  }
+
+  /**
+   * Builds the timer of every repository, method and outcome once and reuses it for all following invocations.
+   */
+  private static final class TimingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private TimingInterceptor(final ObjectProvider<MeterRegistry> meterRegistry) {
+      this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+      final Class<?> repository = ClassUtils.getUserClass(invocation.getThis().getClass());
+      final QueryMetricsListener.Caller caller = QueryMetricsListener.enter(repository.getSimpleName(), invocation.getMethod().getName());
+      try {
+        return time(invocation, repository);
+      } finally {
+        QueryMetricsListener.exit(caller);
+      }
+    }
+
+    private Object time(final MethodInvocation invocation, final Class<?> repository) throws Throwable {
+      final MeterRegistry registry = meterRegistry.getIfAvailable();
+      if (registry == null) return invocation.proceed();
+
+      final Timer.Sample sample = Timer.start(registry);
+      String outcome = "SUCCESS";
+      try {
+        return invocation.proceed();
+      } catch (final Throwable ex) {
+        outcome = NOT_FOUND_EXCEPTIONS.contains(ex.getClass()) ? "NOT_FOUND" : "ERROR";
+        throw ex;
+      } finally {
+        final TimerKey key = new TimerKey(repository, invocation.getMethod(), outcome);
+        sample.stop(timers.computeIfAbsent(key, timerKey -> register(timerKey, registry)));
+      }
+    }
+
+    private static Timer register(final TimerKey key, final MeterRegistry registry) {
+      return Timer.builder(METRIC_NAME)
+        .description("Repository method invocations, including hits of caches used inside the methods")
+        .tag("repository", key.repository().getSimpleName())
+        .tag("method", key.method().getName())
+        .tag("outcome", key.outcome())
+        .register(registry);
+    }
+  }
+
+  private record TimerKey(Class<?> repository, Method method, String outcome) {
+  }
+}
@@ -1,20 +1,34 @@
 package de.zedalite.quotes.config;
 
 import de.zedalite.quotes.auth.JwtAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
 @Configuration
 public class SecurityConfiguration {
 
+  static final String ACTUATOR_AUTHORITY = "actuator";
+
   private final JwtAuthenticationFilter jwtAuthFilter;
 
   private final AuthenticationProvider authenticationProvider;
@@ -24,13 +38,47 @@ public class SecurityConfiguration {
     this.authenticationProvider = authenticationProvider;
   }
 
+  /**
+   * Secures the actuator. Health and info are public, all other endpoints require the basic credentials of the
+   * management user, which is separate from the users of the api. Without a configured password, the other
+   * endpoints are not accessible at all.
+   *
+   * @param name     the name of the management user
+   * @param password the bcrypt hash of the password of the management user
+   */
+  @Bean
+  @Order(1)
+  public SecurityFilterChain actuatorSecurityFilterChain(final HttpSecurity http,
+                                                         final PasswordEncoder passwordEncoder,
+                                                         @Value("${management.user.name:monitor}") final String name,
+                                                         @Value("${management.user.password:}") final String password) throws Exception {
+    final List<UserDetails> users = new ArrayList<>();
+    if (!password.isBlank()) users.add(User.withUsername(name).password(password).authorities(ACTUATOR_AUTHORITY).build());
+
+    final DaoAuthenticationProvider actuatorAuthenticationProvider = new DaoAuthenticationProvider();
+    actuatorAuthenticationProvider.setUserDetailsService(new InMemoryUserDetailsManager(users));
+    actuatorAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+    final AuthenticationManager actuatorAuthenticationManager = new ProviderManager(actuatorAuthenticationProvider);
+
+    http
+      .securityMatcher("/actuator/**")
+      .csrf(AbstractHttpConfigurer::disable)
+      .authorizeHttpRequests(authz -> authz
+        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+        .anyRequest().hasAuthority(ACTUATOR_AUTHORITY))
+      .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
+      .authenticationManager(actuatorAuthenticationManager)
+      .httpBasic(withDefaults());
+    return http.build();
+  }
+
   @Bean
   public SecurityFilterChain securityFilterChain(final HttpSecurity http) throws Exception {
     http
       .cors(withDefaults())
       .csrf(AbstractHttpConfigurer::disable)
       .authorizeHttpRequests(authz -> authz
-        .requestMatchers("/auth/signup", "/auth/login", "/actuator/*").permitAll()
+        .requestMatchers("/auth/signup", "/auth/login").permitAll()
         .anyRequest().authenticated())
       .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
       .authenticationProvider(authenticationProvider)
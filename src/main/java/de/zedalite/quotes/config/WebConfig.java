@@ -1,5 +1,7 @@
 package de.zedalite.quotes.config;
 
+import de.zedalite.quotes.data.mapper.StringToQuoteCursorConverter;
+import de.zedalite.quotes.data.mapper.StringToQuoteSearchCursorConverter;
 import de.zedalite.quotes.data.mapper.StringToSortFieldConverter;
 import de.zedalite.quotes.data.mapper.StringToSortOrderConverter;
 import org.springframework.context.annotation.Configuration;
@@ -12,5 +14,7 @@ public class WebConfig implements WebMvcConfigurer {
   public void addFormatters(final FormatterRegistry registry) {
     registry.addConverter(new StringToSortFieldConverter());
     registry.addConverter(new StringToSortOrderConverter());
+    registry.addConverter(new StringToQuoteCursorConverter());
+    registry.addConverter(new StringToQuoteSearchCursorConverter());
   }
 }
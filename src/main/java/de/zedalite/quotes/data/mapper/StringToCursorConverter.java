@@ -0,0 +1,32 @@
+package de.zedalite.quotes.data.mapper;
+
+import org.springframework.core.convert.converter.Converter;
+
+import java.util.function.Function;
+
+/**
+ * A converter that converts an opaque cursor token to a cursor.
+ *
+ * <p>
+ * This class is the base of the Spring framework converters of cursor tokens,
+ * implemented by implementing the {@link Converter} interface. It decodes the token
+ * previously handed out by the cursor with the given decoder. Malformed tokens are
+ * rejected with an {@link IllegalArgumentException}.
+ * </p>
+ *
+ * @param <T> the type of the cursor
+ * @see Converter
+ */
+abstract class StringToCursorConverter<T> implements Converter<String, T> {
+
+  private final Function<String, T> decoder;
+
+  StringToCursorConverter(final Function<String, T> decoder) {
+    this.decoder = decoder;
+  }
+
+  @Override
+  public T convert(final String source) {
+    return decoder.apply(source);
+  }
+}
@@ -0,0 +1,18 @@
+package de.zedalite.quotes.data.mapper;
+
+import de.zedalite.quotes.data.model.QuoteCursor;
+import org.springframework.stereotype.Component;
+
+/**
+ * A converter that converts an opaque cursor token to a QuoteCursor.
+ *
+ * @see StringToCursorConverter
+ * @see QuoteCursor
+ */
+@Component
+public class StringToQuoteCursorConverter extends StringToCursorConverter<QuoteCursor> {
+
+  public StringToQuoteCursorConverter() {
+    super(QuoteCursor::decode);
+  }
+}
@@ -0,0 +1,18 @@
+package de.zedalite.quotes.data.mapper;
+
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import org.springframework.stereotype.Component;
+
+/**
+ * A converter that converts an opaque search cursor token to a QuoteSearchCursor.
+ *
+ * @see StringToCursorConverter
+ * @see QuoteSearchCursor
+ */
+@Component
+public class StringToQuoteSearchCursorConverter extends StringToCursorConverter<QuoteSearchCursor> {
+
+  public StringToQuoteSearchCursorConverter() {
+    super(QuoteSearchCursor::decode);
+  }
+}
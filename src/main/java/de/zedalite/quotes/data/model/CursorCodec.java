@@ -0,0 +1,49 @@
+package de.zedalite.quotes.data.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the parts of a cursor into an opaque, url-safe token and back.
+ * The parts are joined by a separator, only the last part may contain the separator itself.
+ */
+final class CursorCodec {
+
+  static final String MALFORMED_CURSOR = "Malformed cursor";
+
+  private static final String SEPARATOR = ":";
+
+  CursorCodec() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  /**
+   * Encodes the parts of a cursor.
+   *
+   * @param parts the parts of the cursor
+   * @return the encoded cursor
+   */
+  static String encode(final Object... parts) {
+    final StringBuilder raw = new StringBuilder();
+    for (final Object part : parts) {
+      if (!raw.isEmpty()) raw.append(SEPARATOR);
+      raw.append(part);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a token created by {@link #encode}.
+   *
+   * @param token the encoded cursor
+   * @param count the number of parts of the cursor
+   * @return the parts of the cursor
+   * @throws IllegalArgumentException if the token is malformed or has another number of parts
+   */
+  static String[] decode(final String token, final int count) throws IllegalArgumentException {
+    final String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    final String[] parts = raw.split(SEPARATOR, count);
+    if (parts.length != count) throw new IllegalArgumentException(MALFORMED_CURSOR);
+    return parts;
+  }
+}
@@ -0,0 +1,16 @@
+package de.zedalite.quotes.data.model;
+
+/**
+ * A push notification that could not be sent.
+ *
+ * @param notification the push notification
+ * @param isPermanent  true if the notification was rejected and sending it again would fail as well
+ */
+public record FailedNotification(
+
+  TopicNotification notification,
+
+  boolean isPermanent
+
+) {
+}
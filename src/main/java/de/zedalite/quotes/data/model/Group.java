@@ -26,7 +26,11 @@ public record Group(
   LocalDateTime creationDate,
 
   @PositiveOrZero
-  Integer creatorId
+  Integer creatorId,
+
+  @NotBlank
+  @Size(max = 64)
+  String timeZone
 
 ) {
 }
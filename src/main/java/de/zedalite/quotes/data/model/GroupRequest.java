@@ -23,11 +23,20 @@ public record GroupRequest(
 
   //TODO make optional instead of nullable?
   @PositiveOrZero
-  Integer creatorId
+  Integer creatorId,
+
+  @Size(max = 64)
+  String timeZone
 
 ) {
 
+  public static final String DEFAULT_TIME_ZONE = "UTC";
+
   public GroupRequest withCreatorId(final Integer creatorId) {
-    return new GroupRequest(name, displayName, creationDate, creatorId);
+    return new GroupRequest(name, displayName, creationDate, creatorId, timeZone);
+  }
+
+  public String timeZoneOrDefault() {
+    return timeZone == null ? DEFAULT_TIME_ZONE : timeZone;
   }
 }
@@ -0,0 +1,84 @@
+package de.zedalite.quotes.data.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position within a sorted quote list, built from the sort key and the quote id of the last delivered quote.
+ * <p>
+ * The quote id breaks ties between equal sort keys, so that every quote is delivered exactly once.
+ * Quotes sorted by text are ordered by the first {@value #TEXT_KEY_LENGTH} characters of their text only,
+ * which keeps the cursor short for arbitrarily long quotes.
+ */
+public record QuoteCursor(
+
+  @NotNull
+  SortField field,
+
+  @NotNull
+  String key,
+
+  @NotNull
+  @PositiveOrZero
+  Integer id
+
+) {
+
+  public static final int TEXT_KEY_LENGTH = 64;
+
+  public static QuoteCursor of(final Quote quote, final SortField field) {
+    final String key = switch (field) {
+      case AUTHOR -> quote.author();
+      case TEXT -> truncate(quote.text());
+      default -> quote.creationDate().toString();
+    };
+    return new QuoteCursor(field, key, quote.id());
+  }
+
+  /**
+   * Encodes the cursor into an opaque, url-safe token.
+   *
+   * @return the encoded cursor
+   */
+  public String encode() {
+    return CursorCodec.encode(field.getName(), id, key);
+  }
+
+  /**
+   * Decodes a token created by {@link #encode()}.
+   *
+   * @param token the encoded cursor
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static QuoteCursor decode(final String token) throws IllegalArgumentException {
+    final String[] parts = CursorCodec.decode(token, 3);
+
+    final SortField field = SortField.getByName(parts[0]);
+    if (field == SortField.CREATION_DATE) parseDate(parts[2]);
+    if (field == SortField.TEXT && parts[2].codePointCount(0, parts[2].length()) > TEXT_KEY_LENGTH) {
+      throw new IllegalArgumentException(CursorCodec.MALFORMED_CURSOR);
+    }
+
+    return new QuoteCursor(field, parts[2], Integer.parseInt(parts[1]));
+  }
+
+  /**
+   * Truncates a text to its sort key, counted in code points like the {@code left} function of the database.
+   */
+  private static String truncate(final String text) {
+    if (text.codePointCount(0, text.length()) <= TEXT_KEY_LENGTH) return text;
+    return text.substring(0, text.offsetByCodePoints(0, TEXT_KEY_LENGTH));
+  }
+
+  private static void parseDate(final String key) {
+    try {
+      LocalDateTime.parse(key);
+    } catch (final DateTimeParseException ex) {
+      throw new IllegalArgumentException(CursorCodec.MALFORMED_CURSOR, ex);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package de.zedalite.quotes.data.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+@JsonSerialize
+@JsonDeserialize
+public record QuoteImport(
+
+  @NotNull
+  @PositiveOrZero
+  Integer imported,
+
+  @NotNull
+  @PositiveOrZero
+  Integer rejected
+
+) {
+}
@@ -0,0 +1,24 @@
+package de.zedalite.quotes.data.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record QuoteOutboxEntry(
+
+  @NotNull
+  @PositiveOrZero
+  Long id,
+
+  @NotNull
+  @PositiveOrZero
+  Integer groupId,
+
+  @NotNull
+  @PositiveOrZero
+  Integer attempts,
+
+  @NotNull
+  Quote quote
+
+) {
+}
@@ -0,0 +1,21 @@
+package de.zedalite.quotes.data.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@JsonSerialize
+@JsonDeserialize
+@JsonInclude(JsonInclude.Include.NON_ABSENT)
+public record QuotePage(
+
+  @NotNull
+  List<QuoteMessage> quotes,
+
+  String nextCursor
+
+) {
+}
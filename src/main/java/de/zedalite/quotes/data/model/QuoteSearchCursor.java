@@ -0,0 +1,53 @@
+package de.zedalite.quotes.data.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Position within ranked search results, built from the rank and the quote id of the last delivered quote.
+ * <p>
+ * The quote id breaks ties between equal ranks, so that every quote is delivered exactly once.
+ * The cursor is stamped with the engine which ranked the page, so that the following pages are ranked by the same
+ * engine.
+ */
+public record QuoteSearchCursor(
+
+  @NotNull
+  SearchEngine engine,
+
+  @NotNull
+  @PositiveOrZero
+  Float rank,
+
+  @NotNull
+  @PositiveOrZero
+  Integer id
+
+) {
+
+  public static QuoteSearchCursor of(final RankedQuote rankedQuote) {
+    return new QuoteSearchCursor(rankedQuote.engine(), rankedQuote.rank(), rankedQuote.quote().id());
+  }
+
+  /**
+   * Encodes the cursor into an opaque, url-safe token.
+   *
+   * @return the encoded cursor
+   */
+  public String encode() {
+    return CursorCodec.encode(engine.getName(), rank, id);
+  }
+
+  /**
+   * Decodes a token created by {@link #encode()}.
+   *
+   * @param token the encoded cursor
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static QuoteSearchCursor decode(final String token) throws IllegalArgumentException {
+    final String[] parts = CursorCodec.decode(token, 3);
+
+    return new QuoteSearchCursor(SearchEngine.getByName(parts[0]), Float.parseFloat(parts[1]), Integer.parseInt(parts[2]));
+  }
+}
@@ -0,0 +1,15 @@
+package de.zedalite.quotes.data.model;
+
+/**
+ * A quote found by a full-text search together with its relevance and the engine which ranked it.
+ */
+public record RankedQuote(
+
+  Quote quote,
+
+  Float rank,
+
+  SearchEngine engine
+
+) {
+}
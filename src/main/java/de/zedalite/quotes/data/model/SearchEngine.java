@@ -0,0 +1,28 @@
+package de.zedalite.quotes.data.model;
+
+import java.util.Arrays;
+
+/**
+ * The engine which ranked a search result. The ranks of different engines are not comparable.
+ */
+public enum SearchEngine {
+  INDEX("index"),
+  DATABASE("database");
+
+  private final String name;
+
+  SearchEngine(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public static SearchEngine getByName(final String name) {
+    return Arrays.stream(SearchEngine.values())
+      .filter(engine -> engine.name.equals(name))
+      .findFirst()
+      .orElseThrow(IllegalArgumentException::new);
+  }
+}
@@ -0,0 +1,15 @@
+package de.zedalite.quotes.data.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record TopicNotification(
+
+  @NotBlank
+  String topic,
+
+  @NotNull
+  PushNotification notification
+
+) {
+}
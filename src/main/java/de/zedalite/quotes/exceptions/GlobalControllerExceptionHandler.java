@@ -35,6 +35,12 @@ public class GlobalControllerExceptionHandler {
     return new ErrorDetails(LocalDateTime.now(), ex.getMessage());
   }
 
+  @ExceptionHandler({InvalidCursorException.class, InvalidImportException.class, InvalidTimeZoneException.class})
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorDetails handleBadRequestException(final RuntimeException ex) {
+    return new ErrorDetails(LocalDateTime.now(), ex.getMessage());
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ValidationErrorDetails handleNotValidException(final MethodArgumentNotValidException ex) {
@@ -0,0 +1,12 @@
+package de.zedalite.quotes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportException extends RuntimeException {
+
+  public InvalidImportException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,47 @@
+package de.zedalite.quotes.repository;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Atomic access to cached values, which the spring cache abstraction does not offer. Only caches backed by caffeine
+ * support it, other caches fall back to evicting the value, which is reloaded on next access.
+ */
+final class CacheMaps {
+
+  CacheMaps() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  /**
+   * Returns the concurrent map view of a cache.
+   *
+   * @param cache the cache
+   * @return the map view, or null if the cache is not backed by caffeine
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> ConcurrentMap<K, V> asMap(final Cache cache) {
+    if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+      return ((com.github.benmanes.caffeine.cache.Cache<K, V>) nativeCache).asMap();
+    }
+    return null;
+  }
+
+  /**
+   * Atomically replaces a cached value. Values which are not cached are left absent.
+   *
+   * @param cache  the cache
+   * @param key    the key of the value
+   * @param update the function computing the new value from the cached one
+   */
+  static <K, V> void computeIfPresent(final Cache cache, final K key, final UnaryOperator<V> update) {
+    final ConcurrentMap<K, V> map = asMap(cache);
+    if (map != null) {
+      map.computeIfPresent(key, (ignored, value) -> update.apply(value));
+    } else {
+      cache.evict(key);
+    }
+  }
+}
@@ -1,56 +1,213 @@
 package de.zedalite.quotes.repository;
 
+import de.zedalite.quotes.data.jooq.tables.GroupQuotes;
+import de.zedalite.quotes.data.jooq.tables.Groups;
 import de.zedalite.quotes.data.jooq.tables.Quotes;
 import de.zedalite.quotes.data.jooq.tables.QuotesOfTheDay;
 import de.zedalite.quotes.data.jooq.tables.records.QuotesOfTheDayRecord;
+import de.zedalite.quotes.data.mapper.QuoteMapper;
 import de.zedalite.quotes.data.mapper.QuoteOfTheDayMapper;
 import de.zedalite.quotes.data.model.Quote;
 import de.zedalite.quotes.data.model.QuoteOfTheDay;
 import de.zedalite.quotes.data.model.QuoteOfTheDayRequest;
 import de.zedalite.quotes.exceptions.QotdNotFoundException;
+import org.jooq.CommonTableExpression;
 import org.jooq.DSLContext;
-import org.springframework.cache.annotation.Cacheable;
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Record2;
+import org.jooq.Record3;
+import org.jooq.impl.DSL;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
 
 @Repository
 public class GroupQuoteOfTheDayRepository {
 
   private static final QuoteOfTheDayMapper QOTD_MAPPER = QuoteOfTheDayMapper.INSTANCE;
 
+  private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
+
   private static final Quotes QUOTES = Quotes.QUOTES.as("quotes");
 
   private static final QuotesOfTheDay QOTD = QuotesOfTheDay.QUOTES_OF_THE_DAY.as("quotes_of_the_day");
 
+  private static final Groups GROUPS = Groups.GROUPS.as("groups");
+
+  private static final GroupQuotes GROUP_QUOTES = GroupQuotes.GROUP_QUOTES.as("group_quotes");
+
   private static final String QOTD_NOT_FOUND = "QuoteOfTheDay not found";
 
+  private static final String QOTD_CACHE = "qotd";
+
   private final DSLContext dsl;
 
-  public GroupQuoteOfTheDayRepository(final DSLContext dsl) {
+  private final CacheManager cacheManager;
+
+  public GroupQuoteOfTheDayRepository(final DSLContext dsl, final CacheManager cacheManager) {
     this.dsl = dsl;
+    this.cacheManager = cacheManager;
   }
 
-  public QuoteOfTheDay save(final Integer id, final QuoteOfTheDayRequest request) {
+  /**
+   * Saves a quote of the day.
+   * If the group already has a quote of the day for the date, the existing one is kept and returned.
+   *
+   * @param id      the group id
+   * @param request the quote of the day to save
+   * @return the saved or already existing quote of the day
+   * @throws QotdNotFoundException if the quote of the day could not be saved
+   */
+  public QuoteOfTheDay save(final Integer id, final QuoteOfTheDayRequest request) throws QotdNotFoundException {
     final Optional<QuotesOfTheDayRecord> savedQotd = dsl.insertInto(QOTD)
       .set(QOTD.GROUP_ID, id)
       .set(QOTD.QUOTE_ID, request.quoteId())
       .set(QOTD.CREATION_DATE, request.creationDate())
+      .onConflictDoNothing()
       .returning()
-      .fetchOptionalInto(QuotesOfTheDayRecord.class);
+      .fetchOptionalInto(QuotesOfTheDayRecord.class)
+      .or(() -> dsl.selectFrom(QOTD)
+        .where(QOTD.GROUP_ID.eq(id))
+        .and(QOTD.CREATION_DATE.eq(request.creationDate()))
+        .fetchOptionalInto(QuotesOfTheDayRecord.class));
     if (savedQotd.isEmpty()) throw new QotdNotFoundException(QOTD_NOT_FOUND);
     return QOTD_MAPPER.mapToQuoteOfTheDay(savedQotd.get());
   }
 
-  @Cacheable(value = "qotd", key = "{#id,#date}", unless = "#result == null")
-  public Quote findByDate(final Integer id, final LocalDate date) throws QotdNotFoundException {
-    final Optional<Quote> qotd = dsl.select(QUOTES)
+  /**
+   * Finds the quote of the day of a group for a date or saves the quote picked by the given supplier.
+   * Concurrent cache misses for the same group and date are coalesced into a single load,
+   * so that only one quote is picked and every caller receives the same quote of the day.
+   *
+   * @param id     the group id
+   * @param date   the date of the quote of the day
+   * @param picker picks the quote id, if the group has no quote of the day for the date yet
+   * @return the quote of the day
+   */
+  public Quote findOrSave(final Integer id, final LocalDate date, final IntSupplier picker) {
+    try {
+      return getCache().get(List.of(id, date), () -> fetchByDate(id, date).orElseGet(() -> {
+        save(id, new QuoteOfTheDayRequest(picker.getAsInt(), date));
+        // a concurrent instance may have saved a different quote of the day first
+        return fetchByDate(id, date).orElseThrow(() -> new QotdNotFoundException(QOTD_NOT_FOUND));
+      }));
+    } catch (final Cache.ValueRetrievalException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) throw cause;
+      throw ex;
+    }
+  }
+
+  /**
+   * Saves a quote of the day for a date for every group of a time zone with at least the given number of quotes
+   * and without a quote of the day for the date, with a single statement.
+   * A random quote is picked per group, preferring quotes which were not quote of the day within the repeat window
+   * around the date, then the quotes least recently quote of the day.
+   *
+   * @param date             the date of the quotes of the day
+   * @param timeZone         the time zone id of the groups
+   * @param minimumCount     the minimum number of group quotes
+   * @param repeatWindowDays the number of days before and after the date whose quotes are not repeated
+   * @return the number of saved quotes of the day
+   */
+  public int saveAll(final LocalDate date, final String timeZone, final Integer minimumCount, final Integer repeatWindowDays) {
+    final Field<Integer> groupId = DSL.field(DSL.name("group_id"), Integer.class);
+    final Field<Integer> quoteId = DSL.field(DSL.name("quote_id"), Integer.class);
+    final Field<LocalDate> lastDate = DSL.field(DSL.name("last_date"), LocalDate.class);
+
+    final CommonTableExpression<Record1<Integer>> eligibleGroups = DSL.name("eligible_groups").fields("group_id").as(
+      DSL.select(GROUP_QUOTES.GROUP_ID)
+        .from(GROUP_QUOTES.join(GROUPS).on(GROUPS.ID.eq(GROUP_QUOTES.GROUP_ID)))
+        .where(GROUPS.TIME_ZONE.eq(timeZone))
+        .groupBy(GROUP_QUOTES.GROUP_ID)
+        .having(DSL.count().ge(minimumCount))
+        .except(DSL.select(QOTD.GROUP_ID).from(QOTD).where(QOTD.CREATION_DATE.eq(date)))
+    );
+    final CommonTableExpression<Record3<Integer, Integer, LocalDate>> recentQuotes =
+      DSL.name("recent_quotes").fields("group_id", "quote_id", "last_date").as(
+        DSL.select(QOTD.GROUP_ID, QOTD.QUOTE_ID, DSL.max(QOTD.CREATION_DATE))
+          .from(QOTD)
+          .where(QOTD.GROUP_ID.in(DSL.select(eligibleGroups.field(groupId)).from(eligibleGroups)))
+          .and(QOTD.CREATION_DATE.between(date.minusDays(repeatWindowDays), date.plusDays(repeatWindowDays)))
+          .groupBy(QOTD.GROUP_ID, QOTD.QUOTE_ID)
+      );
+    final CommonTableExpression<Record2<Integer, Integer>> pickedQuotes = DSL.name("picked_quotes").fields("group_id", "quote_id").as(
+      DSL.selectDistinct(GROUP_QUOTES.GROUP_ID, GROUP_QUOTES.QUOTE_ID)
+        .on(GROUP_QUOTES.GROUP_ID)
+        .from(GROUP_QUOTES
+          .join(eligibleGroups).on(eligibleGroups.field(groupId).eq(GROUP_QUOTES.GROUP_ID))
+          .leftJoin(recentQuotes).on(recentQuotes.field(groupId).eq(GROUP_QUOTES.GROUP_ID)
+            .and(recentQuotes.field(quoteId).eq(GROUP_QUOTES.QUOTE_ID))))
+        .orderBy(GROUP_QUOTES.GROUP_ID, recentQuotes.field(lastDate).asc().nullsFirst(), DSL.rand())
+    );
+
+    return dsl.with(eligibleGroups)
+      .with(recentQuotes)
+      .with(pickedQuotes)
+      .insertInto(QOTD, QOTD.GROUP_ID, QOTD.QUOTE_ID, QOTD.CREATION_DATE)
+      .select(DSL.select(pickedQuotes.field(groupId), pickedQuotes.field(quoteId), DSL.val(date)).from(pickedQuotes))
+      .onConflictDoNothing()
+      .execute();
+  }
+
+  /**
+   * Finds the quote ids of the quotes of the day of a group within a date range.
+   *
+   * @param id   the group id
+   * @param from the first date, inclusive
+   * @param to   the last date, inclusive
+   * @return the quote ids by ascending date
+   */
+  public SortedMap<LocalDate, Integer> findQuoteIds(final Integer id, final LocalDate from, final LocalDate to) {
+    return dsl.select(QOTD.CREATION_DATE, QOTD.QUOTE_ID)
+      .from(QOTD)
+      .where(QOTD.GROUP_ID.eq(id))
+      .and(QOTD.CREATION_DATE.between(from, to))
+      .fetch()
+      .stream()
+      .collect(Collectors.toMap(Record2::value1, Record2::value2, (first, second) -> first, TreeMap::new));
+  }
+
+  /**
+   * Loads the quotes of the day of all groups of a time zone for a date with a single query into the qotd cache.
+   * With quotes of the day saved in advance, this is all that is left to do when the date begins.
+   *
+   * @param date     the date of the quotes of the day
+   * @param timeZone the time zone id of the groups
+   * @return the quotes of the day by group id
+   */
+  public Map<Integer, Quote> loadAll(final LocalDate date, final String timeZone) {
+    final Map<Integer, Quote> qotds = dsl.select(QOTD.GROUP_ID)
+      .select(QUOTES.fields())
+      .from(QOTD.join(QUOTES).on(QOTD.QUOTE_ID.eq(QUOTES.ID)).join(GROUPS).on(GROUPS.ID.eq(QOTD.GROUP_ID)))
+      .where(QOTD.CREATION_DATE.eq(date))
+      .and(GROUPS.TIME_ZONE.eq(timeZone))
+      .fetchMap(rec -> rec.get(QOTD.GROUP_ID), rec -> QUOTE_MAPPER.mapToQuote(rec.into(QUOTES)));
+
+    final Cache cache = getCache();
+    qotds.forEach((id, quote) -> cache.put(List.of(id, date), quote));
+    return qotds;
+  }
+
+  private Optional<Quote> fetchByDate(final Integer id, final LocalDate date) {
+    return dsl.select(QUOTES)
       .from(QOTD.join(QUOTES).on(QOTD.QUOTE_ID.eq(QUOTES.ID)))
       .where(QOTD.GROUP_ID.eq(id))
       .and(QOTD.CREATION_DATE.eq(date))
       .fetchOptionalInto(Quote.class);
-    if (qotd.isEmpty()) throw new QotdNotFoundException(QOTD_NOT_FOUND);
-    return qotd.get();
+  }
+
+  private Cache getCache() {
+    return Objects.requireNonNull(cacheManager.getCache(QOTD_CACHE), QOTD_CACHE);
   }
 }
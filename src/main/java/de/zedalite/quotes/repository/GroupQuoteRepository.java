@@ -1,23 +1,48 @@
 package de.zedalite.quotes.repository;
 
 import de.zedalite.quotes.data.jooq.tables.GroupQuotes;
+import de.zedalite.quotes.data.jooq.tables.QuoteOutbox;
 import de.zedalite.quotes.data.jooq.tables.Quotes;
+import de.zedalite.quotes.data.jooq.tables.records.GroupQuotesRecord;
+import de.zedalite.quotes.data.jooq.tables.records.QuoteOutboxRecord;
 import de.zedalite.quotes.data.jooq.tables.records.QuotesRecord;
 import de.zedalite.quotes.data.mapper.QuoteMapper;
 import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteCursor;
 import de.zedalite.quotes.data.model.QuoteRequest;
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import de.zedalite.quotes.data.model.RankedQuote;
+import de.zedalite.quotes.data.model.SearchEngine;
 import de.zedalite.quotes.data.model.SortField;
 import de.zedalite.quotes.data.model.SortOrder;
 import de.zedalite.quotes.exceptions.QuoteNotFoundException;
+import org.jooq.CommonTableExpression;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.TableField;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep5;
+import org.jooq.Row2;
 import org.jooq.impl.DSL;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Repository
 public class GroupQuoteRepository {
@@ -28,35 +53,116 @@ public class GroupQuoteRepository {
 
   private static final GroupQuotes GROUP_QUOTES = GroupQuotes.GROUP_QUOTES.as("group_quotes");
 
+  private static final Field<Object> SEARCH_VECTOR = DSL.field(DSL.name(QUOTES.getName(), "search_vector"));
+
+  private static final Field<String> TEXT_KEY = DSL.left(QUOTES.TEXT, QuoteCursor.TEXT_KEY_LENGTH);
+
+  private static final QuoteOutbox QUOTE_OUTBOX = QuoteOutbox.QUOTE_OUTBOX.as("quote_outbox");
+
   private static final String GROUP_QUOTE_NOT_FOUND = "Group quote not found";
 
+  private static final String GROUP_QUOTE_IDS_CACHE = "group_quote_ids";
+
+  private static final String GROUP_QUOTE_COUNTS_CACHE = "group_quote_counts";
+
   private final DSLContext dsl;
 
-  public GroupQuoteRepository(final DSLContext dsl) {
+  private final CacheManager cacheManager;
+
+  private final QuoteRepository quoteRepository;
+
+  private final QuoteSearchIndex searchIndex;
+
+  public GroupQuoteRepository(final DSLContext dsl, final CacheManager cacheManager, final QuoteRepository quoteRepository,
+                              final QuoteSearchIndex searchIndex) {
     this.dsl = dsl;
+    this.cacheManager = cacheManager;
+    this.quoteRepository = quoteRepository;
+    this.searchIndex = searchIndex;
   }
 
+  /**
+   * Saves a quote and assigns it to a group.
+   * The inserts of the quote, the group assignment and the quote outbox entry are sent as one statement with
+   * data-modifying common table expressions, so the quote is created atomically within a single round trip.
+   *
+   * @param id    the group id
+   * @param quote the quote details
+   * @return the saved quote
+   * @throws QuoteNotFoundException if the quote was not saved
+   */
   @CachePut(value = "group_quotes", key = "{#id,#result.id}", unless = "#result == null")
-  public Quote save(final Integer id, final QuoteRequest quote) {
-    final Optional<QuotesRecord> savedQuoteRec = dsl.insertInto(QUOTES)
-      .set(QUOTES.AUTHOR, quote.author())
-      .set(QUOTES.CREATION_DATE, quote.creationDate())
-      .set(QUOTES.TEXT, quote.text())
-      .set(QUOTES.CONTEXT, quote.context())
-      .set(QUOTES.CREATOR_ID, quote.creatorId())
-      .returning()
+  public Quote save(final Integer id, final QuoteRequest quote) throws QuoteNotFoundException {
+    final CommonTableExpression<QuotesRecord> insertedQuote = DSL.name("inserted_quote").as(
+      DSL.insertInto(QUOTES)
+        .set(QUOTES.AUTHOR, quote.author())
+        .set(QUOTES.CREATION_DATE, quote.creationDate())
+        .set(QUOTES.TEXT, quote.text())
+        .set(QUOTES.CONTEXT, quote.context())
+        .set(QUOTES.CREATOR_ID, quote.creatorId())
+        .returning()
+    );
+    final CommonTableExpression<GroupQuotesRecord> insertedGroupQuote = DSL.name("inserted_group_quote").as(
+      DSL.insertInto(GROUP_QUOTES, GROUP_QUOTES.GROUP_ID, GROUP_QUOTES.QUOTE_ID)
+        .select(DSL.select(DSL.val(id), insertedQuote.field(QUOTES.ID)).from(insertedQuote))
+        .returning()
+    );
+    final CommonTableExpression<QuoteOutboxRecord> insertedOutboxEntry = DSL.name("inserted_outbox_entry").as(
+      DSL.insertInto(QUOTE_OUTBOX, QUOTE_OUTBOX.GROUP_ID, QUOTE_OUTBOX.QUOTE_ID)
+        .select(DSL.select(DSL.val(id), insertedQuote.field(QUOTES.ID)).from(insertedQuote))
+        .returning()
+    );
+
+    final Optional<QuotesRecord> savedQuoteRec = dsl.with(insertedQuote)
+      .with(insertedGroupQuote)
+      .with(insertedOutboxEntry)
+      .selectFrom(insertedQuote)
       .fetchOptionalInto(QuotesRecord.class);
     if (savedQuoteRec.isEmpty()) throw new QuoteNotFoundException(GROUP_QUOTE_NOT_FOUND);
     final Quote savedQuote = QUOTE_MAPPER.mapToQuote(savedQuoteRec.get());
 
-    dsl.insertInto(GROUP_QUOTES)
-      .set(GROUP_QUOTES.GROUP_ID, id)
-      .set(GROUP_QUOTES.QUOTE_ID, savedQuote.id())
-      .execute();
-
+    addQuoteIds(id, savedQuote.id());
+    incrementCount(id, 1);
+    searchIndex.add(id, savedQuote);
+    quoteRepository.incrementCount();
     return savedQuote;
   }
 
+  /**
+   * Saves multiple quotes and assigns them to a group.
+   * All quotes are inserted with one multi-row statement, combined with the group assignment like {@link #save}.
+   *
+   * @param id     the group id
+   * @param quotes the quote details
+   * @return the saved quotes
+   */
+  public List<Quote> saveAll(final Integer id, final List<QuoteRequest> quotes) {
+    if (quotes.isEmpty()) return Collections.emptyList();
+
+    InsertValuesStep5<QuotesRecord, String, LocalDateTime, String, String, Integer> insertQuotes =
+      DSL.insertInto(QUOTES, QUOTES.AUTHOR, QUOTES.CREATION_DATE, QUOTES.TEXT, QUOTES.CONTEXT, QUOTES.CREATOR_ID);
+    for (final QuoteRequest quote : quotes) {
+      insertQuotes = insertQuotes.values(quote.author(), quote.creationDate(), quote.text(), quote.context(), quote.creatorId());
+    }
+    final CommonTableExpression<QuotesRecord> insertedQuotes = DSL.name("inserted_quotes").as(insertQuotes.returning());
+    final CommonTableExpression<GroupQuotesRecord> insertedGroupQuotes = DSL.name("inserted_group_quotes").as(
+      DSL.insertInto(GROUP_QUOTES, GROUP_QUOTES.GROUP_ID, GROUP_QUOTES.QUOTE_ID)
+        .select(DSL.select(DSL.val(id), insertedQuotes.field(QUOTES.ID)).from(insertedQuotes))
+        .returning()
+    );
+
+    final List<Quote> savedQuotes = QUOTE_MAPPER.mapToQuoteList(dsl.with(insertedQuotes)
+      .with(insertedGroupQuotes)
+      .selectFrom(insertedQuotes)
+      .fetchInto(QuotesRecord.class));
+
+    addQuoteIds(id, savedQuotes.stream().mapToInt(Quote::id).toArray());
+    incrementCount(id, savedQuotes.size());
+    searchIndex.add(id, savedQuotes.toArray(Quote[]::new));
+    quoteRepository.incrementCount(savedQuotes.size());
+    return savedQuotes;
+  }
+
   @Cacheable(value = "group_quotes", key = "{#id,#quoteId}", unless = "#result = null")
   public Quote findById(final Integer id, final Integer quoteId) {
     final Optional<Quote> quote = dsl.select(QUOTES)
@@ -68,39 +174,251 @@ public class GroupQuoteRepository {
     return quote.get();
   }
 
-  // TODO implement caching, optimise with single caching or learn how to manipulate the cache to insert multiple values
-  public List<Quote> findAll(final Integer id, final SortField field, final SortOrder order) {
+  /**
+   * Finds a page of group quotes using keyset pagination.
+   * The quotes are ordered by the given field and the quote id as tie-breaker, so that a page can be continued
+   * directly after the given cursor and stays stable while quotes are added. Text is ordered by its first
+   * {@value QuoteCursor#TEXT_KEY_LENGTH} characters.
+   * <p>
+   * The quotes of the group are read through the primary key of {@code group_quotes}. The sort keys are columns of
+   * {@code quotes}, so no index serves the seek and every page sorts the quotes of the group.
+   *
+   * @param id     the group id
+   * @param field  the sort field
+   * @param order  the sort order
+   * @param cursor the position after which the page starts, or null for the first page
+   * @param limit  the maximum number of quotes
+   * @return the quotes of the page
+   * @throws QuoteNotFoundException if the group has no quotes
+   */
+  public List<Quote> findAll(final Integer id, final SortField field, final SortOrder order, final QuoteCursor cursor, final Integer limit) throws QuoteNotFoundException {
+    Condition condition = GROUP_QUOTES.GROUP_ID.eq(id);
+    if (cursor != null) condition = condition.and(seekAfter(field, order, cursor));
+
     final List<Quote> quotes = dsl.select(QUOTES)
       .from(GROUP_QUOTES.join(QUOTES).on(GROUP_QUOTES.QUOTE_ID.eq(QUOTES.ID)))
-      .where(GROUP_QUOTES.GROUP_ID.eq(id))
-      .orderBy(mapToJooqSortField(field, order))
+      .where(condition)
+      .orderBy(mapToJooqSortField(field, order), order == SortOrder.ASC ? QUOTES.ID.asc() : QUOTES.ID.desc())
+      .limit(limit)
       .fetchInto(Quote.class);
-    if (quotes.isEmpty()) throw new QuoteNotFoundException(GROUP_QUOTE_NOT_FOUND);
+    if (quotes.isEmpty() && cursor == null) throw new QuoteNotFoundException(GROUP_QUOTE_NOT_FOUND);
     return quotes;
   }
 
-  public List<Quote> findRandoms(final Integer id, final Integer quantity) {
-    final List<Quote> quotes = dsl.select(QUOTES)
+  /**
+   * Finds the engine which searches a query, the in-memory {@link QuoteSearchIndex} once it is built and supports the
+   * query, otherwise the database.
+   *
+   * @param query the search query
+   * @return the search engine
+   */
+  public SearchEngine findSearchEngine(final String query) {
+    return searchIndex.supports(query) ? SearchEngine.INDEX : SearchEngine.DATABASE;
+  }
+
+  /**
+   * Searches the quotes of a group with the engine of the cursor, or with the engine found for the query on the first
+   * page. The full-text search of the database matches quotes against the search vector of their text, author
+   * and context, which is backed by a GIN index. Both engines order by rank with the quote id as tie-breaker for keyset
+   * pagination.
+   *
+   * @param id     the group id
+   * @param query  the search query in web search syntax, e.g. {@code "exact phrase" -excluded}, or in the syntax of
+   *               the index, e.g. {@code author:name prefix*}
+   * @param cursor the position after which the page starts, or null for the first page
+   * @param limit  the maximum number of quotes
+   * @return the ranked quotes of the page
+   */
+  public List<RankedQuote> search(final Integer id, final String query, final QuoteSearchCursor cursor, final Integer limit) {
+    final SearchEngine engine = cursor != null ? cursor.engine() : findSearchEngine(query);
+    if (engine == SearchEngine.INDEX) return searchIndex.search(id, query, cursor, limit);
+
+    final Field<Object> tsQuery = DSL.field("websearch_to_tsquery('simple', {0})", Object.class, DSL.val(query));
+    final Field<Float> rank = DSL.field("ts_rank_cd({0}, {1})", Float.class, SEARCH_VECTOR, tsQuery);
+
+    Condition condition = GROUP_QUOTES.GROUP_ID.eq(id).and(DSL.condition("{0} @@ {1}", SEARCH_VECTOR, tsQuery));
+    if (cursor != null) condition = condition.and(DSL.row(rank, QUOTES.ID).lt(cursor.rank(), cursor.id()));
+
+    return dsl.select(QUOTES.fields())
+      .select(rank)
       .from(GROUP_QUOTES.join(QUOTES).on(GROUP_QUOTES.QUOTE_ID.eq(QUOTES.ID)))
-      .where(GROUP_QUOTES.GROUP_ID.eq(id))
-      .orderBy(DSL.rand())
-      .limit(quantity)
-      .fetchInto(Quote.class);
+      .where(condition)
+      .orderBy(rank.desc(), QUOTES.ID.desc())
+      .limit(limit)
+      .fetch(rec -> new RankedQuote(QUOTE_MAPPER.mapToQuote(rec.into(QUOTES)), rec.get(rank), SearchEngine.DATABASE));
+  }
+
+  /**
+   * Finds random group quotes without duplicates.
+   * The quote ids of a group are kept in the group quote ids cache, from which the requested number of ids is sampled
+   * uniformly. Only the sampled quotes are loaded, so the cost does not grow with the group size.
+   *
+   * @param id       the group id
+   * @param quantity the number of quotes
+   * @return the random quotes, at most as many as the group has
+   * @throws QuoteNotFoundException if the group has no quotes
+   */
+  public List<Quote> findRandoms(final Integer id, final Integer quantity) throws QuoteNotFoundException {
+    final int[] quoteIds = getQuoteIds(id);
+    if (quoteIds.length == 0) throw new QuoteNotFoundException(GROUP_QUOTE_NOT_FOUND);
+
+    final List<Integer> sampledIds = sample(quoteIds, Math.min(quantity, quoteIds.length));
+    final Map<Integer, Quote> quotes = dsl.select(QUOTES)
+      .from(GROUP_QUOTES.join(QUOTES).on(GROUP_QUOTES.QUOTE_ID.eq(QUOTES.ID)))
+      .where(GROUP_QUOTES.GROUP_ID.eq(id)
+        .and(GROUP_QUOTES.QUOTE_ID.in(sampledIds)))
+      .fetchInto(Quote.class)
+      .stream()
+      .collect(Collectors.toMap(Quote::id, Function.identity()));
     if (quotes.isEmpty()) throw new QuoteNotFoundException(GROUP_QUOTE_NOT_FOUND);
-    return quotes;
+
+    return sampledIds.stream().map(quotes::get).filter(Objects::nonNull).toList();
+  }
+
+  /**
+   * Finds the quote ids of a group, served from the group quote ids cache.
+   *
+   * @param id the group id
+   * @return the ascending quote ids of the group
+   */
+  public int[] findAllQuoteIds(final Integer id) {
+    return getQuoteIds(id).clone();
   }
 
+  /**
+   * Counts the quotes of a group, served from the group quote counts cache.
+   * On a cache miss the count is taken from the cached quote ids of the group, if they are cached. Otherwise the
+   * quotes are counted in the database, without loading all quote ids of the group only to count them.
+   * Saved quotes increment the cached count, {@link #reconcileCounts} corrects counts which drifted from the database.
+   *
+   * @param id the group id
+   * @return the number of group quotes
+   */
   public Integer count(final Integer id) {
-    return dsl.fetchCount(GROUP_QUOTES, GROUP_QUOTES.GROUP_ID.eq(id));
+    final Integer count = getCountCache().get(id, () -> {
+      final int[] cachedQuoteIds = getCache().get(id, int[].class);
+      return cachedQuoteIds != null ? cachedQuoteIds.length : dsl.fetchCount(GROUP_QUOTES, GROUP_QUOTES.GROUP_ID.eq(id));
+    });
+    return count != null ? count : 0;
+  }
+
+  /**
+   * Compares the cached quote counts and quote ids of all cached groups with the database with a single query.
+   * Deviating counts are corrected, deviating quote ids are evicted and reloaded on next access.
+   */
+  public void reconcileCounts() {
+    final Map<Integer, Integer> cachedCounts = CacheMaps.asMap(getCountCache());
+    final Map<Integer, int[]> cachedQuoteIds = CacheMaps.asMap(getCache());
+    final Set<Integer> ids = new HashSet<>();
+    if (cachedCounts != null) ids.addAll(cachedCounts.keySet());
+    if (cachedQuoteIds != null) ids.addAll(cachedQuoteIds.keySet());
+    if (ids.isEmpty()) return;
+
+    final Field<Integer> count = DSL.count();
+    final Map<Integer, Integer> counts = dsl.select(GROUP_QUOTES.GROUP_ID, count)
+      .from(GROUP_QUOTES)
+      .where(GROUP_QUOTES.GROUP_ID.in(ids))
+      .groupBy(GROUP_QUOTES.GROUP_ID)
+      .fetchMap(GROUP_QUOTES.GROUP_ID, count);
+
+    if (cachedCounts != null) {
+      cachedCounts.forEach((id, cachedCount) -> {
+        final Integer actualCount = counts.getOrDefault(id, 0);
+        if (!cachedCount.equals(actualCount)) cachedCounts.replace(id, cachedCount, actualCount);
+      });
+    }
+    if (cachedQuoteIds != null) {
+      cachedQuoteIds.forEach((id, quoteIds) -> {
+        if (quoteIds.length != counts.getOrDefault(id, 0)) cachedQuoteIds.remove(id, quoteIds);
+      });
+    }
   }
 
   private org.jooq.SortField<? extends Comparable<?>> mapToJooqSortField(final SortField field, final SortOrder order) {
-    final  TableField<QuotesRecord, ? extends Comparable<?>> jooqField = switch (field) {
+    final Field<? extends Comparable<?>> jooqField = switch (field) {
       case AUTHOR -> QUOTES.AUTHOR;
-      case TEXT -> QUOTES.TEXT;
+      case TEXT -> TEXT_KEY;
       default -> QUOTES.CREATION_DATE;
     };
 
     return order == SortOrder.ASC ? jooqField.asc() : jooqField.desc();
   }
+
+  private Condition seekAfter(final SortField field, final SortOrder order, final QuoteCursor cursor) {
+    return switch (field) {
+      case AUTHOR -> seekAfter(QUOTES.AUTHOR, cursor.key(), cursor.id(), order);
+      case TEXT -> seekAfter(TEXT_KEY, cursor.key(), cursor.id(), order);
+      default -> seekAfter(QUOTES.CREATION_DATE, LocalDateTime.parse(cursor.key()), cursor.id(), order);
+    };
+  }
+
+  private <T> Condition seekAfter(final Field<T> jooqField, final T key, final Integer quoteId, final SortOrder order) {
+    final Row2<T, Integer> row = DSL.row(jooqField, QUOTES.ID);
+    return order == SortOrder.ASC ? row.gt(key, quoteId) : row.lt(key, quoteId);
+  }
+
+  private int[] getQuoteIds(final Integer id) {
+    final int[] quoteIds = getCache().get(id, () -> findQuoteIds(id));
+    return quoteIds != null ? quoteIds : new int[0];
+  }
+
+  private int[] findQuoteIds(final Integer id) {
+    return dsl.select(GROUP_QUOTES.QUOTE_ID)
+      .from(GROUP_QUOTES)
+      .where(GROUP_QUOTES.GROUP_ID.eq(id))
+      .orderBy(GROUP_QUOTES.QUOTE_ID)
+      .fetch(GROUP_QUOTES.QUOTE_ID)
+      .stream()
+      .mapToInt(Integer::intValue)
+      .toArray();
+  }
+
+  /**
+   * Samples distinct elements using Floyd's algorithm, which draws exactly {@code quantity} random numbers.
+   * The sample is shuffled afterwards, so that the order of the returned ids is random as well.
+   */
+  private static List<Integer> sample(final int[] quoteIds, final int quantity) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final Set<Integer> indices = new HashSet<>();
+    for (int i = quoteIds.length - quantity; i < quoteIds.length; i++) {
+      final int index = random.nextInt(i + 1);
+      indices.add(indices.contains(index) ? i : index);
+    }
+
+    final List<Integer> sampledIds = new ArrayList<>(quantity);
+    for (final int index : indices) sampledIds.add(quoteIds[index]);
+    Collections.shuffle(sampledIds, random);
+    return sampledIds;
+  }
+
+  /**
+   * Adds the quotes to the sorted, cached quote ids of the group.
+   * The ids are replaced atomically, uncached groups are loaded on next access.
+   * A quote already contained by a concurrent load is not added twice.
+   */
+  private void addQuoteIds(final Integer id, final int... quoteIds) {
+    CacheMaps.<Integer, int[]>computeIfPresent(getCache(), id, cachedIds -> merge(cachedIds, quoteIds));
+  }
+
+  /**
+   * Increments the cached quote count of the group, uncached groups are counted on next access.
+   */
+  private void incrementCount(final Integer id, final int quantity) {
+    CacheMaps.<Integer, Integer>computeIfPresent(getCountCache(), id, count -> count + quantity);
+  }
+
+  private static int[] merge(final int[] cachedIds, final int[] quoteIds) {
+    return IntStream.concat(Arrays.stream(cachedIds), Arrays.stream(quoteIds))
+      .sorted()
+      .distinct()
+      .toArray();
+  }
+
+  private Cache getCache() {
+    return Objects.requireNonNull(cacheManager.getCache(GROUP_QUOTE_IDS_CACHE), GROUP_QUOTE_IDS_CACHE);
+  }
+
+  private Cache getCountCache() {
+    return Objects.requireNonNull(cacheManager.getCache(GROUP_QUOTE_COUNTS_CACHE), GROUP_QUOTE_COUNTS_CACHE);
+  }
 }
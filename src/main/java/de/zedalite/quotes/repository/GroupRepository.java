@@ -14,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Provides methods for interacting with the database to perform CRUD operations on quotes.
@@ -40,6 +41,7 @@ public class GroupRepository {
       .set(GROUPS.DISPLAY_NAME, group.displayName())
       .set(GROUPS.CREATION_DATE, group.creationDate())
       .set(GROUPS.CREATOR_ID, group.creatorId())
+      .set(GROUPS.TIME_ZONE, group.timeZoneOrDefault())
       .returning()
       .fetchOptionalInto(GroupsRecord.class);
     if (savedGroup.isEmpty()) throw new GroupNotFoundException(GROUP_NOT_FOUND);
@@ -69,4 +71,15 @@ public class GroupRepository {
     if (ids.isEmpty()) throw new GroupNotFoundException(GROUP_NOT_FOUND);
     return ids;
   }
+
+  /**
+   * Finds the distinct time zones of all groups.
+   *
+   * @return the time zone ids
+   */
+  public Set<String> findTimeZones() {
+    return dsl.selectDistinct(GROUPS.TIME_ZONE)
+      .from(GROUPS)
+      .fetchSet(GROUPS.TIME_ZONE);
+  }
 }
@@ -5,11 +5,14 @@ import de.zedalite.quotes.data.jooq.tables.Users;
 import de.zedalite.quotes.data.model.User;
 import de.zedalite.quotes.exceptions.UserNotFoundException;
 import org.jooq.DSLContext;
-import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Repository
@@ -21,19 +24,24 @@ public class GroupUserRepository {
 
   private static final String GROUP_USER_NOT_FOUND = "Group user not found";
 
+  private static final String GROUP_MEMBERSHIPS_CACHE = "group_memberships";
+
   private final DSLContext dsl;
 
-  public GroupUserRepository(final DSLContext dsl) {
+  private final CacheManager cacheManager;
+
+  public GroupUserRepository(final DSLContext dsl, final CacheManager cacheManager) {
     this.dsl = dsl;
+    this.cacheManager = cacheManager;
   }
 
-  @CachePut(value = "group_users", key = "{#id,#userId}", unless = "#result == false")
   public Boolean save(final Integer id, final Integer userId) {
     final boolean isSaved = dsl.insertInto(GROUP_USERS)
       .set(GROUP_USERS.GROUP_ID, id)
       .set(GROUP_USERS.USER_ID, userId)
       .execute() == 1;
     if (!isSaved) throw new UserNotFoundException(GROUP_USER_NOT_FOUND);
+    addMembership(userId, id);
     return true;
   }
 
@@ -57,7 +65,51 @@ public class GroupUserRepository {
     return users;
   }
 
+  /**
+   * Checks if a user is member of a group.
+   * The group ids of a user are loaded once into the group memberships cache, following checks are answered from memory.
+   *
+   * @param id     the group id
+   * @param userId the user id
+   * @return true if the user is member of the group
+   */
   public boolean isUserInGroup(final Integer id, final Integer userId) {
-    return dsl.fetchExists(dsl.selectFrom(GROUP_USERS).where(GROUP_USERS.GROUP_ID.eq(id)).and(GROUP_USERS.USER_ID.eq(userId)));
+    final int[] groupIds = getCache().get(userId, () -> findGroupIds(userId));
+    return groupIds != null && Arrays.binarySearch(groupIds, id) >= 0;
+  }
+
+  private int[] findGroupIds(final Integer userId) {
+    return dsl.select(GROUP_USERS.GROUP_ID)
+      .from(GROUP_USERS)
+      .where(GROUP_USERS.USER_ID.eq(userId))
+      .orderBy(GROUP_USERS.GROUP_ID)
+      .fetch(GROUP_USERS.GROUP_ID)
+      .stream()
+      .mapToInt(Integer::intValue)
+      .toArray();
+  }
+
+  /**
+   * Adds the group to the cached memberships of the user.
+   * The sorted group ids are replaced atomically, uncached memberships are loaded on next access.
+   */
+  private void addMembership(final Integer userId, final Integer id) {
+    CacheMaps.<Integer, int[]>computeIfPresent(getCache(), userId, groupIds -> insertSorted(groupIds, id));
+  }
+
+  private static int[] insertSorted(final int[] groupIds, final int id) {
+    final int index = Arrays.binarySearch(groupIds, id);
+    if (index >= 0) return groupIds;
+
+    final int insertionPoint = -index - 1;
+    final int[] updatedGroupIds = new int[groupIds.length + 1];
+    System.arraycopy(groupIds, 0, updatedGroupIds, 0, insertionPoint);
+    updatedGroupIds[insertionPoint] = id;
+    System.arraycopy(groupIds, insertionPoint, updatedGroupIds, insertionPoint + 1, groupIds.length - insertionPoint);
+    return updatedGroupIds;
+  }
+
+  private Cache getCache() {
+    return Objects.requireNonNull(cacheManager.getCache(GROUP_MEMBERSHIPS_CACHE), GROUP_MEMBERSHIPS_CACHE);
   }
 }
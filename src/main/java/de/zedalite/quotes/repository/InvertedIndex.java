@@ -0,0 +1,340 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import de.zedalite.quotes.data.model.RankedQuote;
+import de.zedalite.quotes.data.model.SearchEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the quotes of a group.
+ * <p>
+ * Every field maps its terms to posting lists of ascending quote ids, which are stored in primitive int arrays.
+ * The terms are kept sorted, so that a prefix query expands to a contiguous range of terms.
+ * A query matches the quotes containing all of its terms. Each term contributes its inverse document frequency,
+ * weighted by the best field it was found in, so that rare terms in the quote text rank highest.
+ * <p>
+ * Query syntax: terms are separated by whitespace, {@code author:term} only matches the author,
+ * {@code term*} matches all terms starting with the term and {@code -term} excludes the quotes containing the term,
+ * like in the web search syntax of the database. Phrases and {@code or} are not supported, see {@link #supports}.
+ */
+final class InvertedIndex {
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private static final String AUTHOR_QUALIFIER = "author:";
+
+  private static final String PREFIX_WILDCARD = "*";
+
+  private static final String EXCLUSION = "-";
+
+  private static final String PHRASE = "\"";
+
+  private static final String OR = "or";
+
+  // rough heap sizes of the retained objects on a 64-bit jvm with compressed oops
+  private static final int QUOTE_BYTES = 128;
+
+  private static final int TERM_BYTES = 112;
+
+  private static final int STRING_BYTES = 40;
+
+  private final Map<Integer, Quote> quotes = new HashMap<>();
+
+  private final Map<Field, NavigableMap<String, Postings>> terms = new EnumMap<>(Field.class);
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // written under the write lock, read without locking by the gauges
+  private volatile int size;
+
+  private volatile long memory;
+
+  InvertedIndex() {
+    for (final Field field : Field.values()) terms.put(field, new TreeMap<>());
+  }
+
+  /**
+   * Adds a quote to the index. Quotes which are already indexed are ignored.
+   * The estimated memory grows by the quote, the new terms and the grown posting lists.
+   *
+   * @param quote the quote
+   */
+  void add(final Quote quote) {
+    lock.writeLock().lock();
+    try {
+      if (quotes.putIfAbsent(quote.id(), quote) != null) return;
+
+      long bytes = QUOTE_BYTES;
+      for (final Field field : Field.values()) {
+        bytes += estimateMemory(field.value(quote));
+        final NavigableMap<String, Postings> fieldTerms = terms.get(field);
+        for (final String token : tokenize(field.value(quote))) {
+          Postings postings = fieldTerms.get(token);
+          if (postings == null) {
+            postings = new Postings();
+            fieldTerms.put(token, postings);
+            bytes += TERM_BYTES + estimateMemory(token) + (long) postings.ids.length * Integer.BYTES;
+          }
+          bytes += (long) postings.add(quote.id()) * Integer.BYTES;
+        }
+      }
+      size = quotes.size();
+      memory += bytes;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the indexed quotes.
+   *
+   * @param query  the search query
+   * @param cursor the position after which the page starts, or null for the first page
+   * @param limit  the maximum number of quotes
+   * @return the ranked quotes ordered by rank and quote id, both descending
+   */
+  List<RankedQuote> search(final String query, final QuoteSearchCursor cursor, final int limit) {
+    lock.readLock().lock();
+    try {
+      final List<List<Match>> queryMatches = new ArrayList<>();
+      final List<Match> exclusions = new ArrayList<>();
+      for (final QueryTerm queryTerm : parse(query)) {
+        final List<Match> matches = resolve(queryTerm);
+        if (queryTerm.excluded()) {
+          exclusions.addAll(matches);
+        } else {
+          if (matches.isEmpty()) return List.of();
+          queryMatches.add(matches);
+        }
+      }
+      if (queryMatches.isEmpty()) return List.of();
+
+      // candidates are taken from the most selective term and checked against the others
+      queryMatches.sort(Comparator.comparingInt(InvertedIndex::countPostings));
+      final int[] candidates = queryMatches.getFirst().stream()
+        .flatMapToInt(match -> Arrays.stream(match.postings().ids, 0, match.postings().size))
+        .sorted()
+        .distinct()
+        .toArray();
+
+      // rank and quote id are packed into one long, positive floats keep their order as raw bits
+      final long[] ranked = new long[candidates.length];
+      int size = 0;
+      for (final int quoteId : candidates) {
+        final float rank = rank(quoteId, queryMatches);
+        if (rank == 0 || isExcluded(quoteId, exclusions) || (cursor != null && !isAfter(rank, quoteId, cursor))) continue;
+        ranked[size++] = (long) Float.floatToIntBits(rank) << Integer.SIZE | quoteId;
+      }
+      Arrays.sort(ranked, 0, size);
+
+      final List<RankedQuote> rankedQuotes = new ArrayList<>(Math.min(limit, size));
+      for (int i = size - 1; i >= 0 && rankedQuotes.size() < limit; i--) {
+        rankedQuotes.add(new RankedQuote(quotes.get((int) ranked[i]), Float.intBitsToFloat((int) (ranked[i] >>> Integer.SIZE)), SearchEngine.INDEX));
+      }
+      return rankedQuotes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Indicates whether a query is answered like the web search of the database. Phrases and {@code or} would be
+   * reduced to all of their terms and queries which only exclude terms match nothing, so they are left to the database.
+   *
+   * @param query the search query
+   * @return true if the index supports the query
+   */
+  static boolean supports(final String query) {
+    if (query.contains(PHRASE)) return false;
+
+    boolean included = false;
+    for (final String word : WHITESPACE.split(query.strip())) {
+      if (word.equalsIgnoreCase(OR)) return false;
+      if (!word.startsWith(EXCLUSION) && !tokenize(word).isEmpty()) included = true;
+    }
+    return included;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the estimated heap size retained by the index, including the indexed quotes. The estimate is kept up to
+   * date by {@link #add}, so reading it neither locks nor walks the index.
+   *
+   * @return the estimated size in bytes
+   */
+  long estimateMemory() {
+    return memory;
+  }
+
+  private List<Match> resolve(final QueryTerm queryTerm) {
+    final List<Match> matches = new ArrayList<>();
+    for (final Field field : Field.values()) {
+      if (queryTerm.author() && field != Field.AUTHOR) continue;
+
+      final NavigableMap<String, Postings> fieldTerms = terms.get(field);
+      if (queryTerm.prefix()) {
+        for (final Map.Entry<String, Postings> term : fieldTerms.tailMap(queryTerm.term(), true).entrySet()) {
+          if (!term.getKey().startsWith(queryTerm.term())) break;
+          matches.add(new Match(term.getValue(), weight(field, term.getValue())));
+        }
+      } else {
+        final Postings postings = fieldTerms.get(queryTerm.term());
+        if (postings != null) matches.add(new Match(postings, weight(field, postings)));
+      }
+    }
+    return matches;
+  }
+
+  private float weight(final Field field, final Postings postings) {
+    return field.weight * (float) Math.log1p((double) quotes.size() / postings.size);
+  }
+
+  /**
+   * Sums the best weight of every query term contained by the quote, or returns zero if a term is missing.
+   */
+  private static float rank(final int quoteId, final List<List<Match>> queryMatches) {
+    float rank = 0;
+    for (final List<Match> matches : queryMatches) {
+      float weight = 0;
+      for (final Match match : matches) {
+        if (match.weight() > weight && match.postings().contains(quoteId)) weight = match.weight();
+      }
+      if (weight == 0) return 0;
+      rank += weight;
+    }
+    return rank;
+  }
+
+  private static boolean isExcluded(final int quoteId, final List<Match> exclusions) {
+    for (final Match match : exclusions) {
+      if (match.postings().contains(quoteId)) return true;
+    }
+    return false;
+  }
+
+  private static boolean isAfter(final float rank, final int quoteId, final QuoteSearchCursor cursor) {
+    return rank < cursor.rank() || (rank == cursor.rank() && quoteId < cursor.id());
+  }
+
+  private static int countPostings(final List<Match> matches) {
+    return matches.stream().mapToInt(match -> match.postings().size).sum();
+  }
+
+  private static List<QueryTerm> parse(final String query) {
+    final List<QueryTerm> queryTerms = new ArrayList<>();
+    for (String word : WHITESPACE.split(query.strip())) {
+      final boolean excluded = word.startsWith(EXCLUSION);
+      if (excluded) word = word.substring(EXCLUSION.length());
+      final boolean author = word.regionMatches(true, 0, AUTHOR_QUALIFIER, 0, AUTHOR_QUALIFIER.length());
+      if (author) word = word.substring(AUTHOR_QUALIFIER.length());
+      final boolean prefix = word.endsWith(PREFIX_WILDCARD);
+
+      // a word like "don't*" splits into several terms, only the last one is a prefix
+      final List<String> tokens = List.copyOf(tokenize(word));
+      for (int i = 0; i < tokens.size(); i++) {
+        queryTerms.add(new QueryTerm(tokens.get(i), author, prefix && i == tokens.size() - 1, excluded));
+      }
+    }
+    return queryTerms;
+  }
+
+  private static Set<String> tokenize(final String value) {
+    final Set<String> tokens = new LinkedHashSet<>();
+    if (value == null) return tokens;
+
+    for (final String token : TOKEN_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+      if (!token.isEmpty()) tokens.add(token);
+    }
+    return tokens;
+  }
+
+  private static long estimateMemory(final String value) {
+    return value == null ? 0 : STRING_BYTES + value.length();
+  }
+
+  /**
+   * The indexed fields with the weights of the database search, which ranks text, author and context
+   * with the weights A, B and C.
+   */
+  private enum Field {
+    TEXT(1.0f),
+    AUTHOR(0.4f),
+    CONTEXT(0.2f);
+
+    private final float weight;
+
+    Field(final float weight) {
+      this.weight = weight;
+    }
+
+    private String value(final Quote quote) {
+      return switch (this) {
+        case TEXT -> quote.text();
+        case AUTHOR -> quote.author();
+        case CONTEXT -> quote.context();
+      };
+    }
+  }
+
+  /**
+   * Ascending quote ids of a term. Quotes are usually added in ascending order and appended.
+   */
+  private static final class Postings {
+
+    private int[] ids = new int[1];
+
+    private int size;
+
+    /**
+     * Adds a quote id, unless it is already contained.
+     *
+     * @return the number of ids the array grew by
+     */
+    private int add(final int quoteId) {
+      int index = size;
+      if (size > 0 && ids[size - 1] >= quoteId) {
+        index = Arrays.binarySearch(ids, 0, size, quoteId);
+        if (index >= 0) return 0;
+        index = -index - 1;
+      }
+
+      final int length = ids.length;
+      if (size == length) ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+      System.arraycopy(ids, index, ids, index + 1, size - index);
+      ids[index] = quoteId;
+      size++;
+      return ids.length - length;
+    }
+
+    private boolean contains(final int quoteId) {
+      return Arrays.binarySearch(ids, 0, size, quoteId) >= 0;
+    }
+  }
+
+  private record QueryTerm(String term, boolean author, boolean prefix, boolean excluded) {
+  }
+
+  private record Match(Postings postings, float weight) {
+  }
+}
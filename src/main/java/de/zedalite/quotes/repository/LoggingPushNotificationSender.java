@@ -0,0 +1,34 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.data.model.FailedNotification;
+import de.zedalite.quotes.data.model.PushNotification;
+import de.zedalite.quotes.data.model.TopicNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Local push notification sender, which only logs the notifications.
+ * Enabled with {@code notification.sender=log} to run without firebase credentials.
+ */
+@Repository
+@ConditionalOnProperty(name = "notification.sender", havingValue = "log")
+public class LoggingPushNotificationSender implements PushNotificationSender {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoggingPushNotificationSender.class);
+
+  @Override
+  public void sendToTopic(final String topic, final PushNotification pushNotification) {
+    LOGGER.info("PushNotification topic={} title={}", topic, pushNotification.title());
+  }
+
+  @Override
+  public List<FailedNotification> sendEach(final List<TopicNotification> notifications) {
+    notifications.forEach(notification -> sendToTopic(notification.topic(), notification.notification()));
+    return Collections.emptyList();
+  }
+}
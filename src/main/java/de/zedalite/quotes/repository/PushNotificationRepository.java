@@ -1,19 +1,41 @@
 package de.zedalite.quotes.repository;
 
+import com.google.firebase.ErrorCode;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import de.zedalite.quotes.data.model.FailedNotification;
 import de.zedalite.quotes.data.model.PushNotification;
+import de.zedalite.quotes.data.model.TopicNotification;
 import de.zedalite.quotes.exceptions.NotifierException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
 /**
  * Repository class for sending push notifications to specific topics.
  * Uses FirebaseMessaging to send the push notifications.
  */
 @Repository
-public class PushNotificationRepository {
+@ConditionalOnProperty(name = "notification.sender", havingValue = "firebase", matchIfMissing = true)
+public class PushNotificationRepository implements PushNotificationSender {
+
+  public static final int MAX_BATCH_SIZE = 500;
+
+  // errors of invalid messages or misconfigured credentials, which fail again on every attempt
+  private static final Set<MessagingErrorCode> PERMANENT_ERRORS = EnumSet.of(
+    MessagingErrorCode.INVALID_ARGUMENT,
+    MessagingErrorCode.SENDER_ID_MISMATCH,
+    MessagingErrorCode.THIRD_PARTY_AUTH_ERROR,
+    MessagingErrorCode.UNREGISTERED);
 
   private final FirebaseMessaging fcm;
 
@@ -21,29 +43,58 @@ public class PushNotificationRepository {
     this.fcm = fcm;
   }
 
+  @Override
+  public void sendToTopic(final String topic, final PushNotification pushNotification) throws NotifierException {
+    try {
+      fcm.send(buildMessage(topic, pushNotification));
+    } catch (final FirebaseMessagingException e) {
+      throw new NotifierException(e.getMessage());
+    }
+  }
+
   /**
-   * Sends a push notification to a specific topic.
+   * Sends multiple push notifications with a single FirebaseMessaging call.
+   * At most {@value #MAX_BATCH_SIZE} notifications are allowed per call.
    *
-   * @param topic            the topic to which the push notification will be sent
-   * @param pushNotification the push notification to send
-   * @throws NotifierException if an error occurs while sending the push notification
+   * @param notifications the push notifications with their topics
+   * @return the push notifications that could not be sent, rejected ones are marked as permanent failures
    */
-  public void sendToTopic(final String topic, final PushNotification pushNotification) throws NotifierException {
+  @Override
+  public List<FailedNotification> sendEach(final List<TopicNotification> notifications) {
+    if (notifications.isEmpty()) return Collections.emptyList();
+
+    final List<Message> messages = notifications.stream()
+      .map(notification -> buildMessage(notification.topic(), notification.notification()))
+      .toList();
+
+    try {
+      final List<SendResponse> responses = fcm.sendEach(messages).getResponses();
+      return IntStream.range(0, notifications.size())
+        .filter(i -> !responses.get(i).isSuccessful())
+        .mapToObj(i -> new FailedNotification(notifications.get(i), isPermanent(responses.get(i).getException())))
+        .toList();
+    } catch (final FirebaseMessagingException e) {
+      final boolean isPermanent = isPermanent(e);
+      return notifications.stream().map(notification -> new FailedNotification(notification, isPermanent)).toList();
+    }
+  }
+
+  private static boolean isPermanent(final FirebaseMessagingException e) {
+    if (e == null) return false;
+    if (e.getMessagingErrorCode() != null) return PERMANENT_ERRORS.contains(e.getMessagingErrorCode());
+    return e.getErrorCode() == ErrorCode.INVALID_ARGUMENT;
+  }
+
+  private static Message buildMessage(final String topic, final PushNotification pushNotification) {
     final Notification notification = Notification.builder()
       .setTitle(pushNotification.title())
       .setBody(pushNotification.body())
       .build();
 
-    final Message message = Message.builder()
+    return Message.builder()
       .setTopic(topic)
       .setNotification(notification)
       .putAllData(pushNotification.data())
       .build();
-
-    try {
-      fcm.send(message);
-    } catch (final FirebaseMessagingException e) {
-      throw new NotifierException(e.getMessage());
-    }
   }
 }
@@ -0,0 +1,32 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.data.model.FailedNotification;
+import de.zedalite.quotes.data.model.PushNotification;
+import de.zedalite.quotes.data.model.TopicNotification;
+import de.zedalite.quotes.exceptions.NotifierException;
+
+import java.util.List;
+
+/**
+ * Sends push notifications to topics.
+ * The active implementation is selected with the {@code notification.sender} property.
+ */
+public interface PushNotificationSender {
+
+  /**
+   * Sends a push notification to a specific topic.
+   *
+   * @param topic            the topic to which the push notification will be sent
+   * @param pushNotification the push notification to send
+   * @throws NotifierException if an error occurs while sending the push notification
+   */
+  void sendToTopic(String topic, PushNotification pushNotification) throws NotifierException;
+
+  /**
+   * Sends multiple push notifications in one batch.
+   *
+   * @param notifications the push notifications with their topics
+   * @return the given push notification instances that could not be sent, with whether they were rejected permanently
+   */
+  List<FailedNotification> sendEach(List<TopicNotification> notifications);
+}
@@ -0,0 +1,84 @@
+package de.zedalite.quotes.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement, tagged by the repository method which executed it.
+ * <p>
+ * Cache hits inside repository methods do not execute statements, so unlike the timers of the repository methods
+ * these timers only contain database time. The executing method is registered by the repository metrics advice with
+ * {@link #enter}, statements executed outside of repository methods are tagged with {@code none}.
+ */
+public class QueryMetricsListener implements ExecuteListener {
+
+  static final String METRIC_NAME = "quotes.query";
+
+  private static final String START = QueryMetricsListener.class.getName() + ".start";
+
+  private static final Caller NO_CALLER = new Caller("none", "none");
+
+  private static final ThreadLocal<Caller> CALLER = new ThreadLocal<>();
+
+  private final MeterRegistry meterRegistry;
+
+  private final ConcurrentMap<Caller, Timer> timers = new ConcurrentHashMap<>();
+
+  public QueryMetricsListener(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Registers the repository method executing the following statements of the current thread.
+   *
+   * @param repository the repository name
+   * @param method     the method name
+   * @return the previously registered method, which must be restored with {@link #exit}
+   */
+  public static Caller enter(final String repository, final String method) {
+    final Caller previous = CALLER.get();
+    CALLER.set(new Caller(repository, method));
+    return previous;
+  }
+
+  /**
+   * Restores the repository method registered before {@link #enter}.
+   *
+   * @param previous the previously registered method, or null
+   */
+  public static void exit(final Caller previous) {
+    if (previous != null) CALLER.set(previous);
+    else CALLER.remove();
+  }
+
+  @Override
+  public void executeStart(final ExecuteContext ctx) {
+    ctx.data(START, System.nanoTime());
+  }
+
+  @Override
+  public void end(final ExecuteContext ctx) {
+    if (!(ctx.data(START) instanceof Long start)) return;
+
+    final Caller caller = Objects.requireNonNullElse(CALLER.get(), NO_CALLER);
+    timers.computeIfAbsent(caller, this::register).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  private Timer register(final Caller caller) {
+    return Timer.builder(METRIC_NAME)
+      .description("Statement executions of repository methods, cache hits excluded")
+      .tag("repository", caller.repository())
+      .tag("method", caller.method())
+      .register(meterRegistry);
+  }
+
+  public record Caller(String repository, String method) {
+  }
+}
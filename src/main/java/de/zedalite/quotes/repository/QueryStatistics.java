@@ -0,0 +1,140 @@
+package de.zedalite.quotes.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the executions of sql statements recorded by the {@link QueryStatisticsListener}.
+ * <p>
+ * Statements are grouped by their normalized sql. The number of grouped statements is bounded, rarely executed
+ * statements are evicted first. The slowest single executions are kept in a separate table, so that a rare slow
+ * statement is not lost by eviction.
+ */
+@Component
+public class QueryStatistics {
+
+  private static final Comparator<SlowQuery> BY_DURATION = Comparator.comparing(SlowQuery::duration);
+
+  private final Cache<String, Statement> statements;
+
+  private final int slowQueryLimit;
+
+  private final PriorityQueue<SlowQuery> slowQueries;
+
+  // duration of the fastest kept slow query, faster executions skip the lock once the table is full
+  private volatile long slowQueryFloor;
+
+  /**
+   * Creates the statistics.
+   *
+   * @param statementLimit the maximum number of grouped statements
+   * @param slowQueryLimit the maximum number of kept slow queries
+   */
+  public QueryStatistics(@Value("${query-statistics.statement-limit:500}") final Long statementLimit,
+                         @Value("${query-statistics.slow-query-limit:50}") final Integer slowQueryLimit) {
+    this.statements = Caffeine.newBuilder().maximumSize(statementLimit).build();
+    this.slowQueryLimit = slowQueryLimit;
+    this.slowQueries = new PriorityQueue<>(slowQueryLimit + 1, BY_DURATION);
+  }
+
+  /**
+   * Records an execution of a statement.
+   *
+   * @param sql   the normalized sql
+   * @param nanos the execution time in nanoseconds
+   * @param rows  the fetched or affected rows
+   */
+  public void record(final String sql, final long nanos, final int rows) {
+    statements.get(sql, key -> new Statement()).record(nanos, rows);
+
+    if (nanos <= slowQueryFloor) return;
+    synchronized (slowQueries) {
+      slowQueries.add(new SlowQuery(sql, Duration.ofNanos(nanos), rows, Instant.now()));
+      if (slowQueries.size() > slowQueryLimit) {
+        slowQueries.poll();
+        slowQueryFloor = slowQueries.peek().duration().toNanos();
+      }
+    }
+  }
+
+  /**
+   * Returns the statements with the highest total execution time.
+   *
+   * @param limit the maximum number of statements
+   * @return the statements ordered by total execution time, descending
+   */
+  public List<StatementSummary> getStatements(final int limit) {
+    return statements.asMap().entrySet().stream()
+      .map(entry -> entry.getValue().summarize(entry.getKey()))
+      .sorted(Comparator.comparing(StatementSummary::total).reversed())
+      .limit(limit)
+      .toList();
+  }
+
+  /**
+   * Returns the slowest single executions.
+   *
+   * @return the slow queries ordered by duration, descending
+   */
+  public List<SlowQuery> getSlowQueries() {
+    final List<SlowQuery> result;
+    synchronized (slowQueries) {
+      result = new ArrayList<>(slowQueries);
+    }
+    result.sort(BY_DURATION.reversed());
+    return result;
+  }
+
+  /**
+   * Removes all recorded executions.
+   */
+  public void reset() {
+    statements.invalidateAll();
+    synchronized (slowQueries) {
+      slowQueries.clear();
+      slowQueryFloor = 0;
+    }
+  }
+
+  public record StatementSummary(String sql, long count, Duration total, Duration mean, Duration max, long rows) {
+  }
+
+  public record SlowQuery(String sql, Duration duration, int rows, Instant executedAt) {
+  }
+
+  private static final class Statement {
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private final LongAdder rows = new LongAdder();
+
+    private void record(final long nanos, final int rows) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+      this.rows.add(rows);
+    }
+
+    private StatementSummary summarize(final String sql) {
+      final long executions = count.sum();
+      final long total = totalNanos.sum();
+      return new StatementSummary(sql, executions, Duration.ofNanos(total),
+        Duration.ofNanos(executions > 0 ? total / executions : 0), Duration.ofNanos(maxNanos.get()), rows.sum());
+    }
+  }
+}
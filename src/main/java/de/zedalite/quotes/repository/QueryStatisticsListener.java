@@ -0,0 +1,121 @@
+package de.zedalite.quotes.repository;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Records the execution time, the fetched or affected rows and the normalized sql of every statement.
+ * <p>
+ * The time is measured from the execution until the results are fetched, rendering and binding are excluded.
+ * Statements exceeding the threshold are logged with their bind values, which are redacted except for numbers,
+ * booleans and temporals, so that user content and credentials never reach the log.
+ */
+public class QueryStatisticsListener implements ExecuteListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryStatisticsListener.class);
+
+  private static final String START = QueryStatisticsListener.class.getName() + ".start";
+
+  private static final String FETCHED = QueryStatisticsListener.class.getName() + ".fetched";
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\?(?:, \\?)+\\)");
+
+  private static final Pattern ROW_LIST = Pattern.compile("(\\(\\?(?:, \\?)*\\))(?:, \\(\\?(?:, \\?)*\\))+");
+
+  private static final String REDACTED = "'***'";
+
+  private final QueryStatistics statistics;
+
+  private final long thresholdNanos;
+
+  /**
+   * Creates the listener.
+   *
+   * @param statistics the statistics recording all statements
+   * @param threshold  the execution time above which statements are logged
+   */
+  public QueryStatisticsListener(final QueryStatistics statistics, final Duration threshold) {
+    this.statistics = statistics;
+    this.thresholdNanos = threshold.toNanos();
+  }
+
+  @Override
+  public void executeStart(final ExecuteContext ctx) {
+    ctx.data(START, System.nanoTime());
+  }
+
+  @Override
+  public void recordEnd(final ExecuteContext ctx) {
+    if (ctx.recordLevel() > 0) return;
+
+    if (ctx.data(FETCHED) instanceof int[] fetched) fetched[0]++;
+    else ctx.data(FETCHED, new int[]{1});
+  }
+
+  @Override
+  public void end(final ExecuteContext ctx) {
+    if (!(ctx.data(START) instanceof Long start)) return;
+
+    final long nanos = System.nanoTime() - start;
+    final String sql = normalize(ctx.sql() != null ? ctx.sql() : firstBatchSql(ctx));
+    if (sql == null) return;
+
+    final int rows = countRows(ctx);
+    statistics.record(sql, nanos, rows);
+
+    if (nanos > thresholdNanos) {
+      LOGGER.warn("Slow query took {}ms, rows={} sql={} binds={}", Duration.ofNanos(nanos).toMillis(), rows, sql, redactBinds(ctx.query()));
+    }
+  }
+
+  /**
+   * Collapses whitespace and lists of placeholders, so that statements differing only in the number of
+   * bind values, e.g. in {@code in} lists or multi-row inserts, are grouped together.
+   */
+  static String normalize(final String sql) {
+    if (sql == null) return null;
+
+    String normalized = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+    if (normalized.contains("?, ") || normalized.contains("?), (")) {
+      normalized = ROW_LIST.matcher(normalized).replaceAll("$1, ...");
+      normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?, ...)");
+    }
+    return normalized;
+  }
+
+  static String redact(final Object value) {
+    if (value == null) return "null";
+    if (value instanceof Number || value instanceof Boolean || value instanceof Temporal) return value.toString();
+    return REDACTED;
+  }
+
+  private static String redactBinds(final Query query) {
+    if (query == null) return "[]";
+
+    final List<Object> binds = query.getBindValues();
+    return binds.stream().map(QueryStatisticsListener::redact).collect(Collectors.joining(", ", "[", "]"));
+  }
+
+  private static String firstBatchSql(final ExecuteContext ctx) {
+    final String[] batchSql = ctx.batchSQL();
+    return batchSql.length > 0 ? batchSql[0] : null;
+  }
+
+  private static int countRows(final ExecuteContext ctx) {
+    if (ctx.data(FETCHED) instanceof int[] fetched) return fetched[0];
+    if (ctx.rows() >= 0) return ctx.rows();
+    return Arrays.stream(ctx.batchRows()).filter(rows -> rows > 0).sum();
+  }
+}
@@ -0,0 +1,97 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.data.jooq.tables.QuoteOutbox;
+import de.zedalite.quotes.data.jooq.tables.Quotes;
+import de.zedalite.quotes.data.mapper.QuoteMapper;
+import de.zedalite.quotes.data.model.QuoteOutboxEntry;
+import org.jooq.DSLContext;
+import org.jooq.DatePart;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The QuoteOutboxRepository class provides access to the quote outbox.
+ * Outbox entries are written together with their quote by {@link GroupQuoteRepository#save} and removed once the
+ * quote creation notification was delivered.
+ */
+@Repository
+public class QuoteOutboxRepository {
+
+  private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
+
+  private static final QuoteOutbox QUOTE_OUTBOX = QuoteOutbox.QUOTE_OUTBOX.as("quote_outbox");
+
+  private static final Quotes QUOTES = Quotes.QUOTES.as("quotes");
+
+  private final DSLContext dsl;
+
+  public QuoteOutboxRepository(final DSLContext dsl) {
+    this.dsl = dsl;
+  }
+
+  /**
+   * Finds the oldest pending outbox entries, whose next attempt is due.
+   * The entries are locked until the end of the transaction. Entries locked by another transaction are skipped,
+   * so that concurrent relays never send the same entries.
+   *
+   * @param limit the maximum number of entries
+   * @return the pending entries in insertion order
+   */
+  public List<QuoteOutboxEntry> findPending(final Integer limit) {
+    return dsl.select(QUOTE_OUTBOX.ID, QUOTE_OUTBOX.GROUP_ID, QUOTE_OUTBOX.ATTEMPTS)
+      .select(QUOTES.fields())
+      .from(QUOTE_OUTBOX.join(QUOTES).on(QUOTE_OUTBOX.QUOTE_ID.eq(QUOTES.ID)))
+      .where(QUOTE_OUTBOX.NEXT_ATTEMPT_AT.le(DSL.currentLocalDateTime()))
+      .orderBy(QUOTE_OUTBOX.ID)
+      .limit(limit)
+      .forUpdate()
+      .of(QUOTE_OUTBOX)
+      .skipLocked()
+      .fetch(rec -> new QuoteOutboxEntry(
+        rec.get(QUOTE_OUTBOX.ID),
+        rec.get(QUOTE_OUTBOX.GROUP_ID),
+        rec.get(QUOTE_OUTBOX.ATTEMPTS),
+        QUOTE_MAPPER.mapToQuote(rec.into(QUOTES))));
+  }
+
+  public Integer countPending() {
+    return dsl.fetchCount(QUOTE_OUTBOX);
+  }
+
+  /**
+   * Counts a failed attempt of outbox entries and defers their next attempt with exponential backoff.
+   * The backoff doubles with every attempt, starting with the initial backoff, up to the maximum backoff.
+   *
+   * @param ids            the outbox entry ids
+   * @param initialBackoff the backoff after the first attempt
+   * @param maxBackoff     the maximum backoff
+   */
+  public void incrementAttempts(final Collection<Long> ids, final Duration initialBackoff, final Duration maxBackoff) {
+    if (ids.isEmpty()) return;
+
+    final Field<Double> backoffSeconds = DSL.least(
+      DSL.inline(initialBackoff.toMillis() / 1000.0).mul(DSL.power(DSL.inline(2), QUOTE_OUTBOX.ATTEMPTS).cast(Double.class)),
+      DSL.inline(maxBackoff.toMillis() / 1000.0));
+    final Field<LocalDateTime> nextAttemptAt = DSL.localDateTimeAdd(DSL.currentLocalDateTime(), backoffSeconds, DatePart.SECOND);
+
+    dsl.update(QUOTE_OUTBOX)
+      .set(QUOTE_OUTBOX.ATTEMPTS, QUOTE_OUTBOX.ATTEMPTS.plus(1))
+      .set(QUOTE_OUTBOX.NEXT_ATTEMPT_AT, nextAttemptAt)
+      .where(QUOTE_OUTBOX.ID.in(ids))
+      .execute();
+  }
+
+  public void delete(final Collection<Long> ids) {
+    if (ids.isEmpty()) return;
+
+    dsl.deleteFrom(QUOTE_OUTBOX)
+      .where(QUOTE_OUTBOX.ID.in(ids))
+      .execute();
+  }
+}
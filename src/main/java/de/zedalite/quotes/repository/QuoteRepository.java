@@ -9,20 +9,60 @@ import de.zedalite.quotes.exceptions.QuoteNotFoundException;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Repository
 public class QuoteRepository {
   private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
   private static final String QUOTE_NOT_FOUND = "Quote not found";
   private static final Quotes QUOTES = Quotes.QUOTES.as("Quotes");
 
+  private static final int UNKNOWN_COUNT = -1;
+
   private final DSLContext dsl;
 
+  private final AtomicInteger count = new AtomicInteger(UNKNOWN_COUNT);
+
   public QuoteRepository(final DSLContext dsl) {
     this.dsl = dsl;
   }
 
+  /**
+   * Counts all quotes.
+   * The count is loaded on first access and afterwards maintained in memory by {@link #incrementCount()}.
+   *
+   * @return the number of quotes
+   */
   public Integer count() {
-    return dsl.fetchCount(QUOTES);
+    final int cachedCount = count.get();
+    if (cachedCount != UNKNOWN_COUNT) return cachedCount;
+
+    final int loadedCount = dsl.fetchCount(QUOTES);
+    count.compareAndSet(UNKNOWN_COUNT, loadedCount);
+    return loadedCount;
+  }
+
+  /**
+   * Increments the in-memory quote count after a quote was inserted. Has no effect while the count is not loaded.
+   */
+  public void incrementCount() {
+    incrementCount(1);
+  }
+
+  /**
+   * Increments the in-memory quote count after multiple quotes were inserted.
+   *
+   * @param quantity the number of inserted quotes
+   */
+  public void incrementCount(final int quantity) {
+    count.getAndUpdate(value -> value == UNKNOWN_COUNT ? UNKNOWN_COUNT : value + quantity);
+  }
+
+  /**
+   * Replaces the in-memory quote count with the current database count.
+   */
+  public void reconcileCount() {
+    count.set(dsl.fetchCount(QUOTES));
   }
 
   public Quote save(final QuoteRequest quote) throws QuoteNotFoundException {
@@ -35,6 +75,7 @@ public class QuoteRepository {
       .returning()
       .fetchOneInto(QuotesRecord.class);
     if (savedQuote == null) throw new QuoteNotFoundException(QUOTE_NOT_FOUND);
+    incrementCount();
     return QUOTE_MAPPER.mapToQuote(savedQuote);
   }
 }
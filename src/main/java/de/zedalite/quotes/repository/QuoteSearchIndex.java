@@ -0,0 +1,161 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.data.jooq.tables.GroupQuotes;
+import de.zedalite.quotes.data.jooq.tables.Quotes;
+import de.zedalite.quotes.data.mapper.QuoteMapper;
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import de.zedalite.quotes.data.model.RankedQuote;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional in-memory search engine for group quotes, which keeps search traffic away from the database.
+ * <p>
+ * An {@link InvertedIndex} per group is built from all group quotes after startup and extended by every saved quote.
+ * Until the build is completed, quotes are searched by the database. Queries with operators the index does not
+ * support are always searched by the database.
+ * <p>
+ * The index is local to the instance and only learns about quotes saved through this instance, quotes saved by other
+ * instances are missing until the next start. The index must therefore only be enabled for a single instance
+ * deployment.
+ */
+@Repository
+public class QuoteSearchIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QuoteSearchIndex.class);
+
+  private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
+
+  private static final Quotes QUOTES = Quotes.QUOTES.as("quotes");
+
+  private static final GroupQuotes GROUP_QUOTES = GroupQuotes.GROUP_QUOTES.as("group_quotes");
+
+  private static final int FETCH_SIZE = 5000;
+
+  private final DSLContext dsl;
+
+  private final Boolean enabled;
+
+  private final Map<Integer, InvertedIndex> indices = new ConcurrentHashMap<>();
+
+  private volatile boolean ready;
+
+  public QuoteSearchIndex(final DSLContext dsl,
+                          final MeterRegistry meterRegistry,
+                          @Value("${search.index.enabled:false}") final Boolean enabled) {
+    this.dsl = dsl;
+    this.enabled = enabled;
+    Gauge.builder("quotes.search.index.memory", this, QuoteSearchIndex::estimateMemory)
+      .description("Estimated heap size of the quote search index")
+      .baseUnit("bytes")
+      .register(meterRegistry);
+    Gauge.builder("quotes.search.index.quotes", this, QuoteSearchIndex::size)
+      .description("Quotes in the quote search index")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Builds the index in the background once the application is ready.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (enabled) Thread.ofVirtual().name("quote-search-index-build").start(this::build);
+  }
+
+  /**
+   * Indexes all group quotes. The quotes are streamed with a server-side cursor inside a transaction, so that they
+   * are not loaded at once. Quotes saved concurrently are indexed by {@link #add} and skipped by the build.
+   */
+  void build() {
+    final long start = System.nanoTime();
+    try {
+      dsl.transaction(configuration -> {
+        try (final Cursor<Record> cursor = DSL.using(configuration)
+          .select(GROUP_QUOTES.GROUP_ID)
+          .select(QUOTES.fields())
+          .from(GROUP_QUOTES.join(QUOTES).on(GROUP_QUOTES.QUOTE_ID.eq(QUOTES.ID)))
+          .orderBy(QUOTES.ID)
+          .fetchSize(FETCH_SIZE)
+          .fetchLazy()) {
+          for (final Record rec : cursor) add(rec.get(GROUP_QUOTES.GROUP_ID), QUOTE_MAPPER.mapToQuote(rec.into(QUOTES)));
+        }
+      });
+      ready = true;
+      LOGGER.info("Quote search index built, groups={} quotes={} memory={}B duration={}ms", indices.size(), size(),
+        estimateMemory(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    } catch (final RuntimeException ex) {
+      LOGGER.error("Quote search index not built, quotes are searched by the database", ex);
+    }
+  }
+
+  /**
+   * Indicates whether searches can be answered by the index.
+   *
+   * @return true if the index is enabled and built
+   */
+  public boolean isReady() {
+    return enabled && ready;
+  }
+
+  /**
+   * Indicates whether a query can be answered by the index.
+   *
+   * @param query the search query
+   * @return true if the index is ready and supports the query
+   */
+  public boolean supports(final String query) {
+    return isReady() && InvertedIndex.supports(query);
+  }
+
+  /**
+   * Adds quotes of a group to the index.
+   *
+   * @param id     the group id
+   * @param quotes the quotes
+   */
+  public void add(final Integer id, final Quote... quotes) {
+    if (!enabled) return;
+
+    final InvertedIndex index = indices.computeIfAbsent(id, key -> new InvertedIndex());
+    for (final Quote quote : quotes) index.add(quote);
+  }
+
+  /**
+   * Searches the quotes of a group.
+   *
+   * @param id     the group id
+   * @param query  the search query, {@code author:term} only matches authors, {@code term*} matches prefixes and
+   *               {@code -term} excludes quotes
+   * @param cursor the position after which the page starts, or null for the first page
+   * @param limit  the maximum number of quotes
+   * @return the ranked quotes of the page
+   */
+  public List<RankedQuote> search(final Integer id, final String query, final QuoteSearchCursor cursor, final Integer limit) {
+    final InvertedIndex index = indices.get(id);
+    return index != null ? index.search(query, cursor, limit) : List.of();
+  }
+
+  private int size() {
+    return indices.values().stream().mapToInt(InvertedIndex::size).sum();
+  }
+
+  private long estimateMemory() {
+    return indices.values().stream().mapToLong(InvertedIndex::estimateMemory).sum();
+  }
+}
@@ -7,13 +7,12 @@ import de.zedalite.quotes.data.model.User;
 import de.zedalite.quotes.data.model.UserRequest;
 import de.zedalite.quotes.exceptions.UserNotFoundException;
 import org.jooq.DSLContext;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * The UserRepository class is responsible for interacting with the user data in the database.
@@ -28,10 +27,17 @@ public class UserRepository {
 
   private static final Users USERS = Users.USERS.as("Users");
 
+  private static final String USERS_CACHE = "users";
+
+  private static final String USER_NAMES_CACHE = "user_names";
+
   private final DSLContext dsl;
 
-  public UserRepository(final DSLContext dsl) {
+  private final CacheManager cacheManager;
+
+  public UserRepository(final DSLContext dsl, final CacheManager cacheManager) {
     this.dsl = dsl;
+    this.cacheManager = cacheManager;
   }
 
   /**
@@ -41,7 +47,6 @@ public class UserRepository {
    * @return the saved user
    * @throws UserNotFoundException if the user is not found in the database
    */
-  @CachePut(value = "users", key = "#result.id()", unless = "#result == null")
   public User save(final UserRequest user) throws UserNotFoundException {
     final Optional<UsersRecord> savedUser = dsl.insertInto(USERS)
       .set(USERS.NAME, user.name())
@@ -51,7 +56,7 @@ public class UserRepository {
       .returning()
       .fetchOptionalInto(UsersRecord.class);
     if (savedUser.isEmpty()) throw new UserNotFoundException(USER_NOT_FOUND);
-    return USER_MAPPER.mapToUser(savedUser.get());
+    return cacheUser(USER_MAPPER.mapToUser(savedUser.get()));
   }
 
   public List<User> findAll() {
@@ -61,37 +66,74 @@ public class UserRepository {
     return USER_MAPPER.mapToUserList(users);
   }
 
-  // TODO Cache result or better integrate in user cache
-
+  /**
+   * Finds all users with the given ids.
+   * Users present in the users cache are served from it, only the missing ids are loaded with a single query
+   * and written back into the cache.
+   *
+   * @param ids the user ids
+   * @return the found users in the order of the given ids
+   * @throws UserNotFoundException if none of the users is found
+   */
   public List<User> findAllByIds(final List<Integer> ids) throws UserNotFoundException {
-    final List<UsersRecord> users = dsl.selectFrom(USERS)
-      .where(USERS.ID.in(ids))
-      .fetchInto(UsersRecord.class);
+    final Map<Integer, User> users = new HashMap<>();
+    final List<Integer> missingIds = new ArrayList<>();
+    for (final Integer id : new LinkedHashSet<>(ids)) {
+      final User cachedUser = getCachedUser(id);
+      if (cachedUser != null) users.put(id, cachedUser);
+      else missingIds.add(id);
+    }
+
+    if (!missingIds.isEmpty()) {
+      final List<UsersRecord> loadedUsers = dsl.selectFrom(USERS)
+        .where(USERS.ID.in(missingIds))
+        .fetchInto(UsersRecord.class);
+      for (final User user : USER_MAPPER.mapToUserList(loadedUsers)) {
+        users.put(user.id(), cacheLoadedUser(user));
+      }
+    }
+
     if (users.isEmpty()) throw new UserNotFoundException(USER_NOT_FOUND);
-    return USER_MAPPER.mapToUserList(users);
+    return ids.stream().distinct().map(users::get).filter(Objects::nonNull).toList();
   }
 
-  @Cacheable(value = "users", key = "#name", unless = "#result == null")
-  // TODO Cache result or better integrate in user cache -> otherwise sync problem when cacheput
-  public User findByName(final String name) {
+  /**
+   * Finds a user by its name.
+   * The name is resolved to the user id via the user name index, the user itself is served from the users cache.
+   *
+   * @param name the user name
+   * @return the found user
+   * @throws UserNotFoundException if the user is not found
+   */
+  public User findByName(final String name) throws UserNotFoundException {
+    final Integer cachedId = getCache(USER_NAMES_CACHE).get(name, Integer.class);
+    if (cachedId != null) {
+      final User cachedUser = getCachedUser(cachedId);
+      // the index may point to a renamed user, which is treated as cache miss
+      if (cachedUser != null && cachedUser.name().equals(name)) return cachedUser;
+    }
+
     final Optional<UsersRecord> user = dsl.selectFrom(USERS)
       .where(USERS.NAME.eq(name))
       .fetchOptionalInto(UsersRecord.class);
     if (user.isEmpty()) throw new UserNotFoundException(USER_NOT_FOUND);
-    return USER_MAPPER.mapToUser(user.get());
+    return cacheLoadedUser(USER_MAPPER.mapToUser(user.get()));
   }
 
-  @Cacheable(value = "users", key = "#id", unless = "#result == null")
-  public User findById(final Integer id) {
+  public User findById(final Integer id) throws UserNotFoundException {
+    final User cachedUser = getCachedUser(id);
+    if (cachedUser != null) return cachedUser;
+
     final Optional<UsersRecord> user = dsl.selectFrom(USERS)
       .where(USERS.ID.eq(id))
       .fetchOptionalInto(UsersRecord.class);
     if (user.isEmpty()) throw new UserNotFoundException(USER_NOT_FOUND);
-    return USER_MAPPER.mapToUser(user.get());
+    return cacheLoadedUser(USER_MAPPER.mapToUser(user.get()));
   }
 
-  @CachePut(value = "users", key = "#id", unless = "#result == null")
   public User update(final Integer id, final UserRequest user) throws UserNotFoundException {
+    final User previousUser = getCachedUser(id);
+
     final Optional<UsersRecord> updatedUser = dsl.update(USERS)
       .set(USERS.NAME, user.name())
       .set(USERS.PASSWORD, user.password())
@@ -100,7 +142,11 @@ public class UserRepository {
       .returning()
       .fetchOptionalInto(UsersRecord.class);
     if (updatedUser.isEmpty()) throw new UserNotFoundException(USER_NOT_FOUND);
-    return USER_MAPPER.mapToUser(updatedUser.get());
+
+    if (previousUser != null && !previousUser.name().equals(user.name())) {
+      getCache(USER_NAMES_CACHE).evict(previousUser.name());
+    }
+    return cacheUser(USER_MAPPER.mapToUser(updatedUser.get()));
   }
 
   public boolean isUsernameTaken(final String name) {
@@ -114,4 +160,33 @@ public class UserRepository {
   public boolean doesUserNonExist(final Integer id) {
     return !dsl.fetchExists(dsl.selectFrom(USERS).where(USERS.ID.eq(id)));
   }
+
+  private User getCachedUser(final Integer id) {
+    return getCache(USERS_CACHE).get(id, User.class);
+  }
+
+  /**
+   * Puts a saved or updated user into the users cache and afterwards into the user name index.
+   * Readers of the index always find the referenced user already cached.
+   */
+  private User cacheUser(final User user) {
+    getCache(USERS_CACHE).put(user.id(), user);
+    getCache(USER_NAMES_CACHE).put(user.name(), user.id());
+    return user;
+  }
+
+  /**
+   * Caches a user loaded from the database without replacing a cached user. A user cached concurrently by
+   * {@link #update} is at least as recent as the loaded one, so a read overlapping an update never puts the
+   * previous user back.
+   */
+  private User cacheLoadedUser(final User user) {
+    getCache(USERS_CACHE).putIfAbsent(user.id(), user);
+    getCache(USER_NAMES_CACHE).put(user.name(), user.id());
+    return user;
+  }
+
+  private Cache getCache(final String name) {
+    return Objects.requireNonNull(cacheManager.getCache(name), name);
+  }
 }
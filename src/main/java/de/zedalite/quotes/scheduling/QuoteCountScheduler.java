@@ -0,0 +1,40 @@
+package de.zedalite.quotes.scheduling;
+
+import de.zedalite.quotes.repository.GroupQuoteRepository;
+import de.zedalite.quotes.repository.QuoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The QuoteCountScheduler class is responsible for reconciling the in-memory quote counts with the database.
+ */
+@Component
+public class QuoteCountScheduler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QuoteCountScheduler.class);
+
+  private final QuoteRepository quoteRepository;
+
+  private final GroupQuoteRepository groupQuoteRepository;
+
+  public QuoteCountScheduler(final QuoteRepository quoteRepository, final GroupQuoteRepository groupQuoteRepository) {
+    this.quoteRepository = quoteRepository;
+    this.groupQuoteRepository = groupQuoteRepository;
+  }
+
+  /**
+   * Reconciles the global and the per group quote counts.
+   * This method is scheduled to run periodically.
+   */
+  @Scheduled(
+    initialDelayString = "${scheduling.quote-count.reconciliation-interval:PT5M}",
+    fixedDelayString = "${scheduling.quote-count.reconciliation-interval:PT5M}"
+  )
+  public void reconcileCounts() {
+    quoteRepository.reconcileCount();
+    groupQuoteRepository.reconcileCounts();
+    LOGGER.debug("Quote counts reconciled.");
+  }
+}
@@ -1,17 +1,28 @@
 package de.zedalite.quotes.scheduling;
 
-import de.zedalite.quotes.exceptions.ResourceNotFoundException;
 import de.zedalite.quotes.service.GroupQuoteOfTheDayService;
-import de.zedalite.quotes.service.GroupService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+
 /**
- * The QuoteOfTheDayScheduler class is responsible for scheduling the reset of the quote of the day
- * and sending push notifications.
+ * The QuoteOfTheDayScheduler class is responsible for rolling over the quote of the day of all groups.
+ * <p>
+ * The groups of every time zone are rolled over shortly before their local midnight, which spreads the work
+ * across the day. The pending rollovers are kept in a priority queue ordered by their due time.
  */
 @Component
 public class QuoteOfTheDayScheduler {
@@ -20,38 +31,73 @@ public class QuoteOfTheDayScheduler {
 
   private final GroupQuoteOfTheDayService groupQuoteOfTheDayService;
 
-  private final GroupService groupService;
+  private final Duration precomputeLead;
+
+  private final Clock clock;
+
+  private final PriorityQueue<Rollover> rollovers = new PriorityQueue<>(Comparator.comparing(Rollover::due));
+
+  private final Set<ZoneId> scheduledTimeZones = new HashSet<>();
 
-  public QuoteOfTheDayScheduler(final GroupQuoteOfTheDayService groupQuoteOfTheDayService, final GroupService groupService) {
+  @Autowired
+  public QuoteOfTheDayScheduler(final GroupQuoteOfTheDayService groupQuoteOfTheDayService,
+                                @Value("${scheduling.quote-of-the-day.precompute-lead:PT5M}") final Duration precomputeLead) {
+    this(groupQuoteOfTheDayService, precomputeLead, Clock.systemUTC());
+  }
+
+  QuoteOfTheDayScheduler(final GroupQuoteOfTheDayService groupQuoteOfTheDayService, final Duration precomputeLead,
+                         final Clock clock) {
     this.groupQuoteOfTheDayService = groupQuoteOfTheDayService;
-    this.groupService = groupService;
+    this.precomputeLead = precomputeLead;
+    this.clock = clock;
   }
 
   /**
-   * Clears the cache for the quote of the day and retrieves a new quote from the quote service.
-   * This method is scheduled to run daily.
+   * Performs all due rollovers and schedules the next rollover of each rolled over time zone.
+   * Time zones of new groups are scheduled for their next local midnight, until then their quotes of the day are
+   * created on first access.
+   * This method is scheduled to run periodically.
    */
-  @Scheduled(cron = "@daily")
-  public void resetQuoteOfTheDay() {
-    LOGGER.info("Resetting quotes of the day...");
-    emptyQotdCache();
+  @Scheduled(fixedDelayString = "${scheduling.quote-of-the-day.rollover-interval:PT1M}")
+  public synchronized void rollOverQuoteOfTheDay() {
+    for (final ZoneId timeZone : groupQuoteOfTheDayService.findTimeZones()) {
+      if (scheduledTimeZones.add(timeZone)) rollovers.add(nextRollover(timeZone, LocalDate.now(clock.withZone(timeZone))));
+    }
 
-    for (final Integer groupId : groupService.findAllIds()) {
+    final Instant now = clock.instant();
+    while (!rollovers.isEmpty() && !rollovers.peek().due().isAfter(now)) {
+      final Rollover rollover = rollovers.poll();
       try {
-        groupQuoteOfTheDayService.findQuoteOfTheDay(groupId);
-      } catch (final ResourceNotFoundException ignored) {
-        LOGGER.warn("Quotes of the day reset not reset, groupId={}", groupId);
+        rollOver(rollover);
+      } catch (final RuntimeException ex) {
+        LOGGER.error("Quotes of the day not rolled over, timeZone={} date={}", rollover.timeZone(), rollover.date(), ex);
       }
-    }
-    LOGGER.info("Quotes of the day reset.");
 
+      final LocalDate today = LocalDate.now(clock.withZone(rollover.timeZone()));
+      rollovers.add(nextRollover(rollover.timeZone(), today.isAfter(rollover.date()) ? today : rollover.date()));
+    }
   }
 
   /**
-   * Empties the cache for the Quote of the Day.
+   * Fills the lookahead buffers of all eligible groups of a time zone with one statement per day of the lookahead.
+   * Afterwards the quotes of the day of the date are loaded into the cache with a single query. The cache keys
+   * contain the date, so the loaded entries take over at midnight without evicting the current ones.
    */
-  @CacheEvict(value = "qotd", allEntries = true)
-  public void emptyQotdCache() {
-    LOGGER.info("Cache QOTD emptied");
+  private void rollOver(final Rollover rollover) {
+    LOGGER.info("Rolling over quotes of the day, timeZone={} date={}", rollover.timeZone(), rollover.date());
+    final long start = System.nanoTime();
+
+    final int picked = groupQuoteOfTheDayService.fillLookahead(rollover.timeZone(), rollover.date());
+    final Set<Integer> advancedGroupIds = groupQuoteOfTheDayService.advanceQuotesOfTheDay(rollover.date(), rollover.timeZone());
+    LOGGER.info("Quotes of the day rolled over, timeZone={} groups={} picked={} duration={}ms", rollover.timeZone(),
+      advancedGroupIds.size(), picked, Duration.ofNanos(System.nanoTime() - start).toMillis());
+  }
+
+  private Rollover nextRollover(final ZoneId timeZone, final LocalDate date) {
+    final LocalDate nextDate = date.plusDays(1);
+    return new Rollover(nextDate.atStartOfDay(timeZone).toInstant().minus(precomputeLead), timeZone, nextDate);
+  }
+
+  private record Rollover(Instant due, ZoneId timeZone, LocalDate date) {
   }
 }
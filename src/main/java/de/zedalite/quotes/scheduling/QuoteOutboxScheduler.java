@@ -0,0 +1,31 @@
+package de.zedalite.quotes.scheduling;
+
+import de.zedalite.quotes.service.QuoteOutboxRelay;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The QuoteOutboxScheduler class is responsible for draining the quote outbox.
+ */
+@Component
+public class QuoteOutboxScheduler {
+
+  private final QuoteOutboxRelay relay;
+
+  public QuoteOutboxScheduler(final QuoteOutboxRelay relay) {
+    this.relay = relay;
+  }
+
+  /**
+   * Relays pending quote creation notifications until a batch is not delivered completely, either because the outbox
+   * holds less than a full batch or because notifications failed. Failed notifications are retried by a later run.
+   * This method is scheduled to run periodically.
+   */
+  @Scheduled(fixedDelayString = "${notification.outbox.relay-interval:PT1S}")
+  public void relayNotifications() {
+    int relayed;
+    do {
+      relayed = relay.relay();
+    } while (relayed >= relay.getBatchSize());
+  }
+}
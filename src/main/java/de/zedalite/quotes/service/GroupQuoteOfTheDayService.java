@@ -1,62 +1,146 @@
 package de.zedalite.quotes.service;
 
-import de.zedalite.quotes.data.mapper.QuoteMapper;
 import de.zedalite.quotes.data.model.Quote;
 import de.zedalite.quotes.data.model.QuoteMessage;
-import de.zedalite.quotes.data.model.QuoteOfTheDayRequest;
-import de.zedalite.quotes.data.model.User;
-import de.zedalite.quotes.exceptions.QotdNotFoundException;
+import de.zedalite.quotes.exceptions.GroupNotFoundException;
 import de.zedalite.quotes.exceptions.ResourceNotFoundException;
 import de.zedalite.quotes.repository.GroupQuoteOfTheDayRepository;
 import de.zedalite.quotes.repository.GroupQuoteRepository;
-import de.zedalite.quotes.repository.UserRepository;
-import de.zedalite.quotes.utils.StringUtils;
+import de.zedalite.quotes.repository.GroupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.List;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
 
 @Service
 public class GroupQuoteOfTheDayService {
 
-  private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
+  private static final Logger LOGGER = LoggerFactory.getLogger(GroupQuoteOfTheDayService.class);
 
-  private static final String MIN_QUOTES_COUNT = "Minimum number of quotes not reached (10)";
+  private static final int MIN_QUOTES = 10;
+
+  private static final String MIN_QUOTES_COUNT = "Minimum number of quotes not reached (" + MIN_QUOTES + ")";
 
   private final GroupQuoteOfTheDayRepository repository;
 
   private final GroupQuoteRepository groupQuoteRepository;
 
-  private final UserRepository userRepository;
+  private final GroupRepository groupRepository;
+
+  private final MentionService mentionService;
+
+  private final Integer lookaheadDays;
+
+  private final Integer repeatWindowDays;
 
-  public GroupQuoteOfTheDayService(final GroupQuoteOfTheDayRepository repository, final GroupQuoteRepository groupQuoteRepository, final UserRepository userRepository) {
+  public GroupQuoteOfTheDayService(final GroupQuoteOfTheDayRepository repository, final GroupQuoteRepository groupQuoteRepository,
+                                   final GroupRepository groupRepository, final MentionService mentionService,
+                                   @Value("${scheduling.quote-of-the-day.lookahead-days:7}") final Integer lookaheadDays,
+                                   @Value("${scheduling.quote-of-the-day.repeat-window-days:30}") final Integer repeatWindowDays) {
     this.repository = repository;
     this.groupQuoteRepository = groupQuoteRepository;
-    this.userRepository = userRepository;
+    this.groupRepository = groupRepository;
+    this.mentionService = mentionService;
+    this.lookaheadDays = lookaheadDays;
+    this.repeatWindowDays = repeatWindowDays;
   }
 
-  public QuoteMessage findQuoteOfTheDay(final Integer id) throws  ResourceNotFoundException {
-    if (groupQuoteRepository.count(id) < 10) throw new ResourceNotFoundException(MIN_QUOTES_COUNT);
+  /**
+   * Finds the quote of the day of a group for the current date in the time zone of the group.
+   *
+   * @param id the group id
+   * @return the quote of the day
+   * @throws ResourceNotFoundException if the group is not found or has not enough quotes
+   */
+  public QuoteMessage findQuoteOfTheDay(final Integer id) throws ResourceNotFoundException {
+    if (groupQuoteRepository.count(id) < MIN_QUOTES) throw new ResourceNotFoundException(MIN_QUOTES_COUNT);
 
-    Quote qotd;
-    try {
-      qotd = repository.findByDate(id, LocalDate.now());
-    } catch (final QotdNotFoundException ex) {
-      qotd = groupQuoteRepository.findRandoms(id, 1).getFirst();
-      repository.save(id, new QuoteOfTheDayRequest(qotd.id(), LocalDate.now()));
+    final LocalDate today = LocalDate.now(getTimeZone(id));
+    return mentionService.resolve(findOrSaveQuoteOfTheDay(id, today));
+  }
+
+  /**
+   * Finds the quote of the day of a group for a date or saves a random group quote as quote of the day,
+   * which was not quote of the day within the repeat window.
+   *
+   * @param id   the group id
+   * @param date the date of the quote of the day
+   * @return the quote of the day
+   */
+  public Quote findOrSaveQuoteOfTheDay(final Integer id, final LocalDate date) {
+    return repository.findOrSave(id, date, () -> pick(id, date));
+  }
+
+  /**
+   * Fills the lookahead buffers of all eligible groups of a time zone, so that they have a quote of the day for the
+   * given date and the following days of the lookahead. Each day is filled for all groups with a single statement,
+   * in date order and without repeating quotes within the repeat window. Usually only the last day is missing.
+   *
+   * @param timeZone the time zone of the groups
+   * @param date     the first date of the lookahead
+   * @return the number of saved quotes of the day
+   */
+  public int fillLookahead(final ZoneId timeZone, final LocalDate date) {
+    int saved = 0;
+    for (int day = 0; day < lookaheadDays; day++) {
+      saved += repository.saveAll(date.plusDays(day), timeZone.getId(), MIN_QUOTES, repeatWindowDays);
     }
+    return saved;
+  }
 
-    return getQuoteMessage(qotd);
+  /**
+   * Loads the quotes of the day of all groups of a time zone for a date into the cache.
+   *
+   * @param date     the date of the quotes of the day
+   * @param timeZone the time zone of the groups
+   * @return the ids of the groups with a quote of the day
+   */
+  public Set<Integer> advanceQuotesOfTheDay(final LocalDate date, final ZoneId timeZone) {
+    return repository.loadAll(date, timeZone.getId()).keySet();
   }
 
-  private QuoteMessage getQuoteMessage(final Quote quote) {
-    final List<User> mentions = getMentions(StringUtils.extractUserIds(quote.text()));
+  /**
+   * Finds the distinct time zones of all groups. Invalid time zone ids are skipped, so that a single group does not
+   * prevent the rollover of all others.
+   *
+   * @return the valid time zones
+   */
+  public Set<ZoneId> findTimeZones() {
+    final Set<ZoneId> timeZones = new HashSet<>();
+    for (final String timeZone : groupRepository.findTimeZones()) {
+      try {
+        timeZones.add(ZoneId.of(timeZone));
+      } catch (final DateTimeException ex) {
+        LOGGER.warn("Invalid time zone of groups skipped, timeZone={}", timeZone);
+      }
+    }
+    return timeZones;
+  }
 
-    return QUOTE_MAPPER.mapToQuoteMessage(quote, mentions);
+  private ZoneId getTimeZone(final Integer id) {
+    try {
+      return ZoneId.of(groupRepository.findById(id).timeZone());
+    } catch (final GroupNotFoundException ex) {
+      throw new ResourceNotFoundException(ex.getMessage());
+    }
   }
 
-  private List<User> getMentions(List<Integer> userIds) {
-    return userIds.isEmpty() ? Collections.emptyList() : userRepository.findAllByIds(userIds);
+  /**
+   * Picks a random quote of the day of a group for a date. The quotes of the day within the repeat window before
+   * and after the date are replayed into the picker in date order, so that the pick does not repeat a quote within
+   * the window, including the days already saved in advance.
+   */
+  private int pick(final Integer id, final LocalDate date) {
+    final SortedMap<LocalDate, Integer> qotds = repository.findQuoteIds(id, date.minusDays(repeatWindowDays), date.plusDays(repeatWindowDays));
+    final QuoteOfTheDayPicker picker = new QuoteOfTheDayPicker(groupQuoteRepository.findAllQuoteIds(id), repeatWindowDays);
+    qotds.values().forEach(picker::exclude);
+    return picker.pick();
   }
 }
@@ -1,63 +1,79 @@
 package de.zedalite.quotes.service;
 
-import de.zedalite.quotes.data.mapper.QuoteMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.zedalite.quotes.data.model.*;
-import de.zedalite.quotes.exceptions.NotifierException;
+import de.zedalite.quotes.exceptions.InvalidCursorException;
+import de.zedalite.quotes.exceptions.InvalidImportException;
 import de.zedalite.quotes.exceptions.QuoteNotFoundException;
 import de.zedalite.quotes.exceptions.ResourceNotFoundException;
+import de.zedalite.quotes.exceptions.UserNotFoundException;
 import de.zedalite.quotes.repository.GroupQuoteRepository;
-import de.zedalite.quotes.repository.PushNotificationRepository;
 import de.zedalite.quotes.repository.UserRepository;
 import de.zedalite.quotes.utils.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class GroupQuoteService {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(GroupQuoteService.class);
+  private static final String CURSOR_FIELD_MISMATCH = "Cursor does not match sort field";
 
-  private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
+  private static final String CURSOR_ENGINE_UNAVAILABLE = "Cursor search engine is not available";
+
+  private static final String MALFORMED_IMPORT = "Malformed quote import";
+
+  private static final int IMPORT_BATCH_SIZE = 500;
 
   private final GroupQuoteRepository repository;
 
+  private final MentionService mentionService;
+
   private final UserRepository userRepository;
 
-  private final PushNotificationRepository notifierRepository;
+  private final PushNotificationDispatcher notificationDispatcher;
+
+  private final ObjectMapper objectMapper;
+
+  private final Validator validator;
 
   @Value("${notification.topic.quote-creation}")
   private String quoteCreationTopic;
 
-  public GroupQuoteService(final GroupQuoteRepository repository, final UserRepository userRepository, final PushNotificationRepository notifierRepository) {
+  public GroupQuoteService(final GroupQuoteRepository repository, final MentionService mentionService, final UserRepository userRepository,
+                           final PushNotificationDispatcher notificationDispatcher, final ObjectMapper objectMapper, final Validator validator) {
     this.repository = repository;
+    this.mentionService = mentionService;
     this.userRepository = userRepository;
-    this.notifierRepository = notifierRepository;
+    this.notificationDispatcher = notificationDispatcher;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
   }
 
+  /**
+   * Creates a group quote.
+   * The quote creation notification is written to the quote outbox together with the quote and delivered by
+   * the {@link QuoteOutboxRelay}.
+   *
+   * @param id      the group id
+   * @param request the quote details
+   * @return the created quote
+   */
   public QuoteMessage create(final Integer id, final QuoteRequest request) {
-    QuoteMessage quote = null;
     try {
-      quote = getQuoteMessage(repository.save(id, request));
-
-      // TODO extract notification build?
-      final PushNotification notification = new PushNotification(
-        "New Quote",
-        quote.author() + " says " + quote.truncateText() + "...",
-        Map.of("type", "NEW_QUOTE", "quoteId", String.valueOf(quote.id())));
-      // TODO send to specific group topic or user notification token
-      notifierRepository.sendToTopic(quoteCreationTopic, notification);
-
-      return quote;
-    } catch (NotifierException ex) {
-      LOGGER.warn("PushNotification for quote creation failed");
-      return quote;
+      return mentionService.resolve(repository.save(id, request));
     } catch (QuoteNotFoundException ex) {
       throw new ResourceNotFoundException(ex.getMessage());
     }
@@ -69,19 +85,98 @@ public class GroupQuoteService {
     return create(id, request.withCreatorId(creatorIdOrDefault));
   }
 
-  public List<QuoteMessage> findAll(final Integer id, final SortField field, final SortOrder order) {
+  /**
+   * Imports quotes from a JSON array or newline delimited JSON stream into a group.
+   * The quotes are read one by one and saved in batches, creators and mentioned users are checked once per batch.
+   * Null elements, invalid quotes and quotes with unknown creators or mentioning unknown users are rejected,
+   * a single notification summarizes the import.
+   *
+   * @param id        the group id
+   * @param body      the quote stream
+   * @param creatorId the creator of quotes without explicit creator
+   * @return the import summary
+   * @throws InvalidImportException if the stream is malformed, already read batches stay imported
+   */
+  public QuoteImport importQuotes(final Integer id, final InputStream body, final Integer creatorId) throws InvalidImportException {
+    int imported = 0;
+    int rejected = 0;
+
+    // elements are read as trees first, so that a null element is rejected instead of aborting the import
+    try (final MappingIterator<JsonNode> elements = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+      final List<QuoteRequest> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+      while (elements.hasNextValue()) {
+        final QuoteRequest request = objectMapper.treeToValue(elements.nextValue(), QuoteRequest.class);
+        if (request == null || !validator.validate(request).isEmpty()) {
+          rejected++;
+          continue;
+        }
+
+        batch.add(request.withCreatorId(Objects.requireNonNullElse(request.creatorId(), creatorId)));
+        if (batch.size() == IMPORT_BATCH_SIZE) {
+          final int saved = importBatch(id, batch);
+          imported += saved;
+          rejected += batch.size() - saved;
+          batch.clear();
+        }
+      }
+
+      final int saved = importBatch(id, batch);
+      imported += saved;
+      rejected += batch.size() - saved;
+    } catch (final IOException ex) {
+      throw new InvalidImportException(MALFORMED_IMPORT);
+    } finally {
+      notifyImport(imported);
+    }
+
+    return new QuoteImport(imported, rejected);
+  }
+
+  public QuotePage findAll(final Integer id, final SortField field, final SortOrder order, final QuoteCursor cursor, final Integer limit) {
+    if (cursor != null && cursor.field() != field) throw new InvalidCursorException(CURSOR_FIELD_MISMATCH);
+
     try {
-      final List<Quote> quotes = repository.findAll(id, field, order);
-      return getQuoteMessages(quotes);
+      // fetch one additional quote to determine whether a next page exists
+      final List<Quote> quotes = repository.findAll(id, field, order, cursor, limit + 1);
+      if (quotes.size() <= limit) return new QuotePage(mentionService.resolve(quotes), null);
+
+      final List<Quote> page = quotes.subList(0, limit);
+      final String nextCursor = QuoteCursor.of(page.getLast(), field).encode();
+      return new QuotePage(mentionService.resolve(page), nextCursor);
     } catch (QuoteNotFoundException ex) {
       throw new ResourceNotFoundException(ex.getMessage());
     }
   }
 
+  /**
+   * Searches the quotes of a group, ordered by relevance.
+   * A cursor of the search index is rejected if the index cannot answer the query, because the ranks of the database
+   * are not comparable.
+   *
+   * @param id     the group id
+   * @param query  the search query
+   * @param cursor the position after which the page starts, or null for the first page
+   * @param limit  the maximum number of quotes
+   * @return the page of found quotes
+   */
+  public QuotePage search(final Integer id, final String query, final QuoteSearchCursor cursor, final Integer limit) {
+    if (cursor != null && cursor.engine() == SearchEngine.INDEX && repository.findSearchEngine(query) != SearchEngine.INDEX) {
+      throw new InvalidCursorException(CURSOR_ENGINE_UNAVAILABLE);
+    }
+
+    // fetch one additional quote to determine whether a next page exists
+    final List<RankedQuote> rankedQuotes = repository.search(id, query, cursor, limit + 1);
+    final List<Quote> quotes = rankedQuotes.stream().limit(limit).map(RankedQuote::quote).toList();
+    if (rankedQuotes.size() <= limit) return new QuotePage(mentionService.resolve(quotes), null);
+
+    final String nextCursor = QuoteSearchCursor.of(rankedQuotes.get(limit - 1)).encode();
+    return new QuotePage(mentionService.resolve(quotes), nextCursor);
+  }
+
   public QuoteMessage find(final Integer id, final Integer quoteId) {
     try {
       final Quote quote = repository.findById(id, quoteId);
-      return getQuoteMessage(quote);
+      return mentionService.resolve(quote);
     } catch (QuoteNotFoundException ex) {
       throw new ResourceNotFoundException(ex.getMessage());
     }
@@ -89,7 +184,7 @@ public class GroupQuoteService {
 
   public List<QuoteMessage> findRandoms(final Integer id, final Integer quantity) {
     try {
-      return getQuoteMessages(repository.findRandoms(id, quantity));
+      return mentionService.resolve(repository.findRandoms(id, quantity));
     } catch (QuoteNotFoundException ex) {
       throw new ResourceNotFoundException(ex.getMessage());
     }
@@ -99,19 +194,33 @@ public class GroupQuoteService {
     return repository.count(id);
   }
 
-  private QuoteMessage getQuoteMessage(final Quote quote) {
-    final List<User> mentions = getMentions(StringUtils.extractUserIds(quote.text()));
-
-    return QUOTE_MAPPER.mapToQuoteMessage(quote, mentions);
+  private int importBatch(final Integer id, final List<QuoteRequest> batch) {
+    final Set<Integer> creatorIds = findUserIds(batch.stream().map(QuoteRequest::creatorId).filter(Objects::nonNull).distinct().toList());
+    final Set<Integer> mentionedUserIds = mentionService.findMentionedUserIds(batch.stream().map(QuoteRequest::text).toList());
+    final List<QuoteRequest> quotes = batch.stream()
+      .filter(quote -> quote.creatorId() == null || creatorIds.contains(quote.creatorId()))
+      .filter(quote -> mentionedUserIds.containsAll(StringUtils.extractUserIds(quote.text())))
+      .toList();
+    return repository.saveAll(id, quotes).size();
   }
 
-  private List<QuoteMessage> getQuoteMessages(final List<Quote> quotes) {
-    return quotes.stream()
-      .map(this::getQuoteMessage)
-      .toList();
+  private Set<Integer> findUserIds(final List<Integer> ids) {
+    if (ids.isEmpty()) return Collections.emptySet();
+
+    try {
+      return userRepository.findAllByIds(ids).stream().map(User::id).collect(Collectors.toSet());
+    } catch (final UserNotFoundException ex) {
+      return Collections.emptySet();
+    }
   }
 
-  private List<User> getMentions(List<Integer> userIds) {
-    return userIds.isEmpty() ? Collections.emptyList() : userRepository.findAllByIds(userIds);
+  private void notifyImport(final int imported) {
+    if (imported == 0) return;
+
+    final PushNotification notification = new PushNotification(
+      "New Quotes",
+      imported + " quotes were imported",
+      Map.of("type", "QUOTES_IMPORTED", "count", String.valueOf(imported)));
+    notificationDispatcher.dispatch(quoteCreationTopic, notification);
   }
 }
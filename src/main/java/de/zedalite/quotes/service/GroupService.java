@@ -3,15 +3,20 @@ package de.zedalite.quotes.service;
 import de.zedalite.quotes.data.model.Group;
 import de.zedalite.quotes.data.model.GroupRequest;
 import de.zedalite.quotes.exceptions.GroupNotFoundException;
+import de.zedalite.quotes.exceptions.InvalidTimeZoneException;
 import de.zedalite.quotes.exceptions.ResourceNotFoundException;
 import de.zedalite.quotes.repository.GroupRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.List;
 
 @Service
 public class GroupService {
 
+  private static final String INVALID_TIME_ZONE = "Invalid time zone: ";
+
   private final GroupRepository repository;
 
   public GroupService(final GroupRepository repository) {
@@ -19,6 +24,12 @@ public class GroupService {
   }
 
   public Group create(final GroupRequest request) {
+    try {
+      ZoneId.of(request.timeZoneOrDefault());
+    } catch (final DateTimeException ex) {
+      throw new InvalidTimeZoneException(INVALID_TIME_ZONE + request.timeZone());
+    }
+
     try {
       return repository.save(request);
     } catch (GroupNotFoundException ex) {
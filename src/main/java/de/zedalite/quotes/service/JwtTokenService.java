@@ -1,7 +1,10 @@
 package de.zedalite.quotes.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +18,8 @@ public class JwtTokenService {
 
   private final Algorithm hmac512;
 
+  private final JWTVerifier verifier;
+
   private final Long tokenValidityTime;
 
   /**
@@ -26,6 +31,10 @@ public class JwtTokenService {
   public JwtTokenService(@Value("${auth.jwt.secret}") final String secret, @Value("${auth.jwt.validity}") final Long tokenValidityTime) {
     this.tokenValidityTime = tokenValidityTime;
     this.hmac512 = Algorithm.HMAC512(secret);
+    this.verifier = JWT.require(hmac512)
+      .withClaimPresence("sub")
+      .withIssuer("quote-api")
+      .build();
   }
 
   /**
@@ -51,11 +60,17 @@ public class JwtTokenService {
    * @return The username (subject) extracted from the validated token.
    */
   public String validateToken(final String token) {
-    return JWT.require(hmac512)
-      .withClaimPresence("sub")
-      .withIssuer("quote-api")
-      .build()
-      .verify(token)
-      .getSubject();
+    return verifyToken(token).getSubject();
+  }
+
+  /**
+   * Verifies a JSON Web Token (JWT) and returns the decoded token if the token is valid.
+   *
+   * @param token   The token to be verified.
+   * @return The decoded token, providing the subject and the expiry.
+   * @throws JWTVerificationException if the token is invalid or expired.
+   */
+  public DecodedJWT verifyToken(final String token) throws JWTVerificationException {
+    return verifier.verify(token);
   }
 }
@@ -0,0 +1,87 @@
+package de.zedalite.quotes.service;
+
+import de.zedalite.quotes.data.mapper.QuoteMapper;
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteMessage;
+import de.zedalite.quotes.data.model.User;
+import de.zedalite.quotes.exceptions.UserNotFoundException;
+import de.zedalite.quotes.repository.UserRepository;
+import de.zedalite.quotes.utils.StringUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Resolves the user mentions of quotes and builds the corresponding quote messages.
+ * <p>
+ * The mentioned users of a whole quote list are loaded with a single lookup.
+ */
+@Service
+public class MentionService {
+
+  private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
+
+  private final UserRepository userRepository;
+
+  public MentionService(final UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  public QuoteMessage resolve(final Quote quote) {
+    return resolve(List.of(quote)).getFirst();
+  }
+
+  public List<QuoteMessage> resolve(final List<Quote> quotes) {
+    final List<List<Integer>> mentionIds = quotes.stream()
+      .map(quote -> StringUtils.extractUserIds(quote.text()))
+      .toList();
+    final Map<Integer, User> users = findUsers(mentionIds);
+
+    return IntStream.range(0, quotes.size())
+      .mapToObj(i -> QUOTE_MAPPER.mapToQuoteMessage(quotes.get(i), getMentions(mentionIds.get(i), users)))
+      .toList();
+  }
+
+  /**
+   * Finds the existing users among all users mentioned in the given texts, with a single lookup.
+   *
+   * @param texts the quote texts
+   * @return the ids of the mentioned users that exist
+   */
+  public Set<Integer> findMentionedUserIds(final List<String> texts) {
+    final List<List<Integer>> mentionIds = texts.stream()
+      .map(StringUtils::extractUserIds)
+      .toList();
+    return findUsers(mentionIds).keySet();
+  }
+
+  private Map<Integer, User> findUsers(final List<List<Integer>> mentionIds) {
+    final List<Integer> userIds = mentionIds.stream()
+      .flatMap(List::stream)
+      .distinct()
+      .toList();
+    if (userIds.isEmpty()) return Collections.emptyMap();
+
+    try {
+      return userRepository.findAllByIds(userIds).stream()
+        .collect(Collectors.toMap(User::id, Function.identity()));
+    } catch (final UserNotFoundException ex) {
+      return Collections.emptyMap();
+    }
+  }
+
+  private List<User> getMentions(final List<Integer> userIds, final Map<Integer, User> users) {
+    return userIds.stream()
+      .distinct()
+      .map(users::get)
+      .filter(Objects::nonNull)
+      .toList();
+  }
+}
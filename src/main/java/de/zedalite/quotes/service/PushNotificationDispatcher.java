@@ -0,0 +1,186 @@
+package de.zedalite.quotes.service;
+
+import de.zedalite.quotes.data.model.FailedNotification;
+import de.zedalite.quotes.data.model.PushNotification;
+import de.zedalite.quotes.data.model.TopicNotification;
+import de.zedalite.quotes.repository.PushNotificationRepository;
+import de.zedalite.quotes.repository.PushNotificationSender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends push notifications asynchronously, so that callers do not wait for the notification provider.
+ * <p>
+ * Notifications are buffered in a bounded queue and drained in batches by a virtual worker thread.
+ * Batches are limited to {@value PushNotificationRepository#MAX_BATCH_SIZE} notifications, the most firebase accepts
+ * per call. Notifications that could not be sent are retried with exponential backoff until the attempts are exhausted,
+ * notifications rejected permanently are dropped without retry.
+ * Sent, failed and dropped notifications are counted as {@code quotes.notifications.*} metrics.
+ */
+@Service
+public class PushNotificationDispatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PushNotificationDispatcher.class);
+
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+  private final PushNotificationSender sender;
+
+  private final BlockingQueue<QueuedNotification> queue;
+
+  private final int batchSize;
+
+  private final int maxAttempts;
+
+  private final Duration initialBackoff;
+
+  private final Counter sentCounter;
+
+  private final Counter failedCounter;
+
+  private final Counter droppedCounter;
+
+  private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(
+    Thread.ofVirtual().name("push-notification-retry").factory());
+
+  private final Thread worker = Thread.ofVirtual().name("push-notification-dispatcher").unstarted(this::dispatch);
+
+  private volatile boolean running;
+
+  public PushNotificationDispatcher(final PushNotificationSender sender,
+                                    final MeterRegistry meterRegistry,
+                                    @Value("${notification.dispatcher.capacity:10000}") final Integer capacity,
+                                    @Value("${notification.dispatcher.batch-size:500}") final Integer batchSize,
+                                    @Value("${notification.dispatcher.max-attempts:5}") final Integer maxAttempts,
+                                    @Value("${notification.dispatcher.initial-backoff:PT1S}") final Duration initialBackoff) {
+    this.sender = sender;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.batchSize = Math.min(batchSize, PushNotificationRepository.MAX_BATCH_SIZE);
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.sentCounter = meterRegistry.counter("quotes.notifications.sent");
+    this.failedCounter = meterRegistry.counter("quotes.notifications.failed");
+    this.droppedCounter = meterRegistry.counter("quotes.notifications.dropped");
+    Gauge.builder("quotes.notifications.queued", queue, BlockingQueue::size)
+      .description("Push notifications waiting for dispatch")
+      .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    worker.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    retryScheduler.shutdownNow();
+    worker.join(POLL_TIMEOUT.multipliedBy(2).toMillis());
+  }
+
+  /**
+   * Queues a push notification for a topic.
+   *
+   * @param topic        the topic to which the push notification will be sent
+   * @param notification the push notification to send
+   * @return false if the queue is full and the push notification was dropped
+   */
+  public boolean dispatch(final String topic, final PushNotification notification) {
+    final boolean isQueued = queue.offer(new QueuedNotification(new TopicNotification(topic, notification), 1));
+    if (!isQueued) {
+      LOGGER.warn("PushNotification queue full, notification dropped, topic={}", topic);
+      droppedCounter.increment();
+    }
+    return isQueued;
+  }
+
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  private void dispatch() {
+    final List<QueuedNotification> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        final QueuedNotification first = queue.poll(POLL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        send(batch);
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (final RuntimeException ex) {
+        LOGGER.error("PushNotification dispatch failed", ex);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void send(final List<QueuedNotification> batch) {
+    final Map<TopicNotification, QueuedNotification> queuedNotifications = new IdentityHashMap<>();
+    batch.forEach(queued -> queuedNotifications.put(queued.notification(), queued));
+
+    List<FailedNotification> failed;
+    try {
+      failed = sender.sendEach(batch.stream().map(QueuedNotification::notification).toList());
+    } catch (final RuntimeException ex) {
+      failed = batch.stream().map(queued -> new FailedNotification(queued.notification(), false)).toList();
+    }
+
+    sentCounter.increment((double) batch.size() - failed.size());
+    failedCounter.increment(failed.size());
+    for (final FailedNotification notification : failed) {
+      final QueuedNotification queued = queuedNotifications.get(notification.notification());
+      if (queued == null) continue;
+
+      if (notification.isPermanent()) {
+        LOGGER.warn("PushNotification rejected, notification dropped, topic={}", queued.notification().topic());
+        droppedCounter.increment();
+      } else {
+        retry(queued);
+      }
+    }
+  }
+
+  private void retry(final QueuedNotification queued) {
+    if (queued.attempt() >= maxAttempts || retryScheduler.isShutdown()) {
+      LOGGER.warn("PushNotification dropped after {} attempts, topic={}", queued.attempt(), queued.notification().topic());
+      droppedCounter.increment();
+      return;
+    }
+
+    final Duration backoff = initialBackoff.multipliedBy(1L << (queued.attempt() - 1));
+    final QueuedNotification next = new QueuedNotification(queued.notification(), queued.attempt() + 1);
+    retryScheduler.schedule(() -> {
+      if (!queue.offer(next)) {
+        LOGGER.warn("PushNotification queue full, retry dropped, topic={}", next.notification().topic());
+        droppedCounter.increment();
+      }
+    }, backoff.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private record QueuedNotification(TopicNotification notification, int attempt) {
+  }
+}
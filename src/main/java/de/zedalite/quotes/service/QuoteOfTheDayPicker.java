@@ -0,0 +1,86 @@
+package de.zedalite.quotes.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks random quotes of the day of a group without repeating the quotes of the previous days within a window.
+ * <p>
+ * The positions of the recently picked quote ids are kept in a ring buffer and marked in a bitset over the
+ * ascending quote ids of the group. The window is capped below the number of quotes, so that a quote is always
+ * available.
+ */
+final class QuoteOfTheDayPicker {
+
+  private final int[] quoteIds;
+
+  private final BitSet excluded;
+
+  private final int[] recent;
+
+  private int head;
+
+  private int size;
+
+  /**
+   * @param quoteIds the ascending quote ids of the group
+   * @param window   the number of previous days whose quotes are not repeated
+   */
+  QuoteOfTheDayPicker(final int[] quoteIds, final int window) {
+    if (quoteIds.length == 0) throw new IllegalArgumentException("No quotes to pick from");
+    this.quoteIds = quoteIds;
+    this.excluded = new BitSet(quoteIds.length);
+    this.recent = new int[Math.max(0, Math.min(window, quoteIds.length - 1))];
+  }
+
+  /**
+   * Records the quote of the day of a previous day, so that it is not picked again within the window.
+   * Quotes which are no longer part of the group are ignored.
+   *
+   * @param quoteId the quote id
+   */
+  void exclude(final int quoteId) {
+    final int index = Arrays.binarySearch(quoteIds, quoteId);
+    if (index >= 0 && !excluded.get(index)) record(index);
+  }
+
+  /**
+   * Picks the quote of the day of the next day.
+   *
+   * @return the picked quote id
+   */
+  int pick() {
+    final int available = quoteIds.length - excluded.cardinality();
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    int index;
+    if (available * 2 >= quoteIds.length) {
+      // most quotes are available, rejection sampling needs less than two draws on average
+      do {
+        index = random.nextInt(quoteIds.length);
+      } while (excluded.get(index));
+    } else {
+      index = excluded.nextClearBit(0);
+      for (int skip = random.nextInt(available); skip > 0; skip--) {
+        index = excluded.nextClearBit(index + 1);
+      }
+    }
+
+    record(index);
+    return quoteIds[index];
+  }
+
+  private void record(final int index) {
+    if (recent.length == 0) return;
+    if (size == recent.length) {
+      // the oldest quote leaves the window and becomes available again
+      excluded.clear(recent[head]);
+      recent[head] = index;
+      head = (head + 1) % recent.length;
+    } else {
+      recent[(head + size++) % recent.length] = index;
+    }
+    excluded.set(index);
+  }
+}
@@ -0,0 +1,146 @@
+package de.zedalite.quotes.service;
+
+import de.zedalite.quotes.data.mapper.QuoteMapper;
+import de.zedalite.quotes.data.model.FailedNotification;
+import de.zedalite.quotes.data.model.PushNotification;
+import de.zedalite.quotes.data.model.QuoteMessage;
+import de.zedalite.quotes.data.model.QuoteOutboxEntry;
+import de.zedalite.quotes.data.model.TopicNotification;
+import de.zedalite.quotes.repository.PushNotificationRepository;
+import de.zedalite.quotes.repository.PushNotificationSender;
+import de.zedalite.quotes.repository.QuoteOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers the quote creation notifications of the quote outbox.
+ * <p>
+ * Entries are removed only after their notification was sent, so every notification is delivered at least once.
+ * Failed entries stay in the outbox and are dropped after the maximum number of attempts, entries whose notification
+ * was rejected permanently are dropped right away.
+ */
+@Service
+public class QuoteOutboxRelay {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QuoteOutboxRelay.class);
+
+  private static final QuoteMapper QUOTE_MAPPER = QuoteMapper.INSTANCE;
+
+  private final QuoteOutboxRepository repository;
+
+  private final PushNotificationSender sender;
+
+  private final Integer batchSize;
+
+  private final Integer maxAttempts;
+
+  private final Duration initialBackoff;
+
+  private final Duration maxBackoff;
+
+  private final Counter relayedCounter;
+
+  private final Counter failedCounter;
+
+  private final Counter droppedCounter;
+
+  @Value("${notification.topic.quote-creation}")
+  private String quoteCreationTopic;
+
+  public QuoteOutboxRelay(final QuoteOutboxRepository repository,
+                          final PushNotificationSender sender,
+                          final MeterRegistry meterRegistry,
+                          @Value("${notification.outbox.batch-size:500}") final Integer batchSize,
+                          @Value("${notification.outbox.max-attempts:10}") final Integer maxAttempts,
+                          @Value("${notification.outbox.initial-backoff:PT1S}") final Duration initialBackoff,
+                          @Value("${notification.outbox.max-backoff:PT5M}") final Duration maxBackoff) {
+    this.repository = repository;
+    this.sender = sender;
+    this.batchSize = Math.min(batchSize, PushNotificationRepository.MAX_BATCH_SIZE);
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.relayedCounter = meterRegistry.counter("quotes.outbox.relayed");
+    this.failedCounter = meterRegistry.counter("quotes.outbox.failed");
+    this.droppedCounter = meterRegistry.counter("quotes.outbox.dropped");
+    Gauge.builder("quotes.outbox.pending", repository, QuoteOutboxRepository::countPending)
+      .description("Quote creation notifications waiting for delivery")
+      .register(meterRegistry);
+  }
+
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Sends the notifications of the oldest pending outbox entries in one batch.
+   * The entries stay locked while they are sent, so that concurrent relays skip them. Failed entries are retried
+   * with exponential backoff.
+   *
+   * @return the number of delivered outbox entries
+   */
+  @Transactional
+  public int relay() {
+    final List<QuoteOutboxEntry> entries = repository.findPending(batchSize);
+    if (entries.isEmpty()) return 0;
+
+    final List<TopicNotification> notifications = entries.stream()
+      .map(entry -> new TopicNotification(quoteCreationTopic, buildNotification(entry)))
+      .toList();
+
+    final Map<TopicNotification, FailedNotification> failed = new IdentityHashMap<>();
+    try {
+      sender.sendEach(notifications).forEach(notification -> failed.put(notification.notification(), notification));
+    } catch (final RuntimeException ex) {
+      LOGGER.warn("PushNotification relay failed", ex);
+      notifications.forEach(notification -> failed.put(notification, new FailedNotification(notification, false)));
+    }
+
+    final List<Long> completedIds = new ArrayList<>();
+    final List<Long> failedIds = new ArrayList<>();
+    for (int i = 0; i < entries.size(); i++) {
+      final QuoteOutboxEntry entry = entries.get(i);
+      final FailedNotification failure = failed.get(notifications.get(i));
+      if (failure == null) {
+        completedIds.add(entry.id());
+        relayedCounter.increment();
+      } else if (failure.isPermanent()) {
+        LOGGER.warn("PushNotification for quote creation rejected, quoteId={}", entry.quote().id());
+        completedIds.add(entry.id());
+        droppedCounter.increment();
+      } else if (entry.attempts() + 1 >= maxAttempts) {
+        LOGGER.warn("PushNotification for quote creation dropped after {} attempts, quoteId={}", maxAttempts, entry.quote().id());
+        completedIds.add(entry.id());
+        droppedCounter.increment();
+      } else {
+        failedIds.add(entry.id());
+        failedCounter.increment();
+      }
+    }
+
+    repository.delete(completedIds);
+    repository.incrementAttempts(failedIds, initialBackoff, maxBackoff);
+    return entries.size() - failed.size();
+  }
+
+  private static PushNotification buildNotification(final QuoteOutboxEntry entry) {
+    final QuoteMessage quote = QUOTE_MAPPER.mapToQuoteMessage(entry.quote(), Collections.emptyList());
+    return new PushNotification(
+      "New Quote",
+      quote.author() + " says " + quote.truncateText() + "...",
+      Map.of("type", "NEW_QUOTE", "quoteId", String.valueOf(quote.id()), "groupId", String.valueOf(entry.groupId())));
+  }
+}
@@ -1,5 +1,6 @@
 package de.zedalite.quotes.service;
 
+import de.zedalite.quotes.auth.PrincipalCache;
 import de.zedalite.quotes.data.model.*;
 import de.zedalite.quotes.exceptions.ResourceAlreadyExitsException;
 import de.zedalite.quotes.exceptions.ResourceNotFoundException;
@@ -26,14 +27,18 @@ public class UserService {
 
   private final JwtTokenService tokenService;
 
+  private final PrincipalCache principalCache;
+
   public UserService(final UserRepository repository,
                      final PasswordEncoder passwordEncoder,
                      final AuthenticationManager authenticationManager,
-                     final JwtTokenService tokenService) {
+                     final JwtTokenService tokenService,
+                     final PrincipalCache principalCache) {
     this.repository = repository;
     this.passwordEncoder = passwordEncoder;
     this.authenticationManager = authenticationManager;
     this.tokenService = tokenService;
+    this.principalCache = principalCache;
   }
 
   public AuthResponse authenticate(final AuthRequest request) throws AuthenticationException {
@@ -89,6 +94,7 @@ public class UserService {
       final User user = find(id);
       final UserRequest userRequest = new UserRequest(user.name(), passwordEncoder.encode(request.password()), user.displayName());
       repository.update(id, userRequest);
+      principalCache.invalidate(user.name());
     } catch (UserNotFoundException ex) {
       throw new ResourceNotFoundException(ex.getMessage());
     }
@@ -99,6 +105,7 @@ public class UserService {
       final User user = find(id);
       final UserRequest userRequest = new UserRequest(user.name(), user.password(), request.displayName());
       repository.update(id, userRequest);
+      principalCache.invalidate(user.name());
     } catch (UserNotFoundException ex) {
       throw new ResourceNotFoundException(ex.getMessage());
     }
@@ -0,0 +1,299 @@
+package de.zedalite.quotes.web;
+
+import de.zedalite.quotes.config.AccessLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured access log, which keeps the request threads free of formatting and io.
+ * <p>
+ * Requests are recorded into a preallocated ring buffer of reusable entries, so that recording neither allocates
+ * nor blocks. A worker thread writes the buffered requests in batches as json lines, one object per request.
+ * If the buffer is full, requests are dropped and counted as {@code quotes.access-log.dropped} metric.
+ */
+public class AccessLog {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AccessLog.class);
+
+  private static final DateTimeFormatter SECOND_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+
+  private final AccessLogProperties properties;
+
+  private final Entry[] entries;
+
+  private final int mask;
+
+  // sequence of the next entry to record
+  private final AtomicLong claimed = new AtomicLong();
+
+  // sequence of the next entry to write, entries before it may be reused
+  private final AtomicLong written = new AtomicLong();
+
+  private final String[] samplePrefixes;
+
+  private final double[] sampleRates;
+
+  private final Counter droppedCounter;
+
+  private final StringBuilder batch = new StringBuilder();
+
+  private long formattedSecond = Long.MIN_VALUE;
+
+  private String formattedSecondText;
+
+  private final Thread worker = Thread.ofVirtual().name("access-log-writer").unstarted(this::write);
+
+  private Writer fileWriter;
+
+  private volatile boolean running;
+
+  public AccessLog(final AccessLogProperties properties, final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.entries = new Entry[Integer.highestOneBit(Math.max(1, properties.capacity() - 1)) << 1];
+    this.mask = entries.length - 1;
+    for (int i = 0; i < entries.length; i++) entries[i] = new Entry(i - entries.length);
+
+    // the longest matching prefix wins
+    final List<Map.Entry<String, Double>> rates = properties.sampleRates().entrySet().stream()
+      .sorted(Comparator.comparingInt((Map.Entry<String, Double> rate) -> rate.getKey().length()).reversed())
+      .toList();
+    this.samplePrefixes = rates.stream().map(Map.Entry::getKey).toArray(String[]::new);
+    this.sampleRates = rates.stream().mapToDouble(Map.Entry::getValue).toArray();
+
+    this.droppedCounter = meterRegistry.counter("quotes.access-log.dropped");
+  }
+
+  public void start() throws IOException {
+    if (properties.target() == AccessLogProperties.Target.FILE) {
+      final Path parent = properties.file().toAbsolutePath().getParent();
+      if (parent != null) Files.createDirectories(parent);
+      fileWriter = Files.newBufferedWriter(properties.file(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    running = true;
+    worker.start();
+  }
+
+  public void stop() throws InterruptedException, IOException {
+    running = false;
+    LockSupport.unpark(worker);
+    worker.join(properties.flushInterval().multipliedBy(10).toMillis());
+    flush();
+    if (fileWriter != null) fileWriter.close();
+  }
+
+  /**
+   * Decides whether a request is logged. Failed requests are always logged, others by the sample rate
+   * of the longest configured prefix of their path.
+   *
+   * @param uri        the request uri
+   * @param pathOffset the length of the context path, which is not part of the configured prefixes
+   * @param status     the response status
+   * @return true if the request should be recorded
+   */
+  public boolean isSampled(final String uri, final int pathOffset, final int status) {
+    if (status >= 400) return true;
+
+    for (int i = 0; i < samplePrefixes.length; i++) {
+      if (uri.startsWith(samplePrefixes[i], pathOffset)) {
+        return sampleRates[i] >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRates[i];
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Records a request without blocking.
+   *
+   * @param timestamp     the start of the request in epoch milliseconds
+   * @param method        the http method
+   * @param uri           the request uri
+   * @param query         the query string, or null
+   * @param status        the response status
+   * @param client        the client address
+   * @param user          the authenticated user, or null
+   * @param durationNanos the duration of the request in nanoseconds
+   * @return false if the buffer is full and the request was dropped
+   */
+  public boolean record(final long timestamp, final String method, final String uri, final String query, final int status,
+                        final String client, final String user, final long durationNanos) {
+    long sequence;
+    do {
+      sequence = claimed.get();
+      if (sequence - written.get() >= entries.length) {
+        droppedCounter.increment();
+        return false;
+      }
+    } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+    final Entry entry = entries[(int) sequence & mask];
+    entry.timestamp = timestamp;
+    entry.method = method;
+    entry.uri = uri;
+    entry.query = query;
+    entry.status = status;
+    entry.client = client;
+    entry.user = user;
+    entry.durationNanos = durationNanos;
+    entry.sequence = sequence;
+    return true;
+  }
+
+  /**
+   * Writes all recorded requests.
+   */
+  public synchronized void flush() {
+    long sequence = written.get();
+    while (true) {
+      int size = 0;
+      while (size < properties.batchSize()) {
+        final Entry entry = entries[(int) sequence & mask];
+        if (entry.sequence != sequence) break;
+        append(entry);
+        entry.clear();
+        sequence++;
+        size++;
+      }
+      if (size == 0) return;
+
+      written.set(sequence);
+      try {
+        if (fileWriter != null) {
+          fileWriter.append(batch);
+          fileWriter.flush();
+        } else {
+          System.out.append(batch);
+          System.out.flush();
+        }
+      } catch (final IOException ex) {
+        LOGGER.error("Access log not written, {} requests lost", size, ex);
+      } finally {
+        batch.setLength(0);
+      }
+    }
+  }
+
+  private void write() {
+    while (running) {
+      try {
+        flush();
+      } catch (final RuntimeException ex) {
+        LOGGER.error("Access log not written", ex);
+      }
+      LockSupport.parkNanos(properties.flushInterval().toNanos());
+    }
+  }
+
+  private void append(final Entry entry) {
+    batch.append("{\"timestamp\":\"");
+    appendTimestamp(entry.timestamp);
+    batch.append("\",\"method\":");
+    appendString(batch, entry.method);
+    batch.append(",\"uri\":");
+    appendString(batch, entry.uri);
+    batch.append(",\"query\":");
+    appendString(batch, entry.query);
+    batch.append(",\"status\":").append(entry.status);
+    batch.append(",\"client\":");
+    appendString(batch, entry.client);
+    batch.append(",\"user\":");
+    appendString(batch, entry.user);
+    batch.append(",\"durationMicros\":").append(entry.durationNanos / 1000);
+    batch.append("}\n");
+  }
+
+  /**
+   * Appends the timestamp in iso format with milliseconds. Consecutive requests mostly share their second,
+   * so only the milliseconds are formatted for each of them.
+   */
+  private void appendTimestamp(final long timestamp) {
+    final long second = Math.floorDiv(timestamp, 1000);
+    if (second != formattedSecond) {
+      formattedSecond = second;
+      formattedSecondText = SECOND_FORMATTER.format(Instant.ofEpochSecond(second));
+    }
+
+    final int millis = Math.floorMod(timestamp, 1000);
+    batch.append(formattedSecondText).append('.');
+    if (millis < 100) batch.append('0');
+    if (millis < 10) batch.append('0');
+    batch.append(millis).append('Z');
+  }
+
+  private static void appendString(final StringBuilder builder, final String value) {
+    if (value == null) {
+      builder.append("null");
+      return;
+    }
+
+    builder.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      switch (c) {
+        case '"' -> builder.append("\\\"");
+        case '\\' -> builder.append("\\\\");
+        case '\n' -> builder.append("\\n");
+        case '\r' -> builder.append("\\r");
+        case '\t' -> builder.append("\\t");
+        default -> {
+          if (c < 0x20) builder.append(String.format("\\u%04x", (int) c));
+          else builder.append(c);
+        }
+      }
+    }
+    builder.append('"');
+  }
+
+  /**
+   * A reusable slot of the ring buffer. The sequence is written last, so that the writer only reads
+   * completely recorded entries.
+   */
+  private static final class Entry {
+
+    private volatile long sequence;
+
+    private long timestamp;
+
+    private String method;
+
+    private String uri;
+
+    private String query;
+
+    private int status;
+
+    private String client;
+
+    private String user;
+
+    private long durationNanos;
+
+    private Entry(final long sequence) {
+      this.sequence = sequence;
+    }
+
+    private void clear() {
+      method = null;
+      uri = null;
+      query = null;
+      client = null;
+      user = null;
+    }
+  }
+}
@@ -9,11 +9,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -28,17 +34,34 @@ public class GroupQuoteController {
     this.service = service;
   }
 
-  @Operation(summary = "Get all group quotes",
+  @Operation(summary = "Get a page of group quotes",
     responses = {
-      @ApiResponse(responseCode = "200", description = "Group quote found", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = QuoteMessage.class))}),
+      @ApiResponse(responseCode = "200", description = "Group quote found", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = QuotePage.class))}),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDetails.class))}),
       @ApiResponse(responseCode = "403", description = "Principal is no group member", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDetails.class))}),
       @ApiResponse(responseCode = "404", description = "Group quotes not found", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDetails.class))})})
   @PreAuthorize("@authorizer.isUserInGroup(principal,#id)")
   @GetMapping("{id}/quotes")
-  public List<QuoteMessage> getQuotes(@PathVariable("id") final Integer id,
-                                      @RequestParam(defaultValue = "CREATION_DATE") @Valid final SortField field,
-                                      @RequestParam(defaultValue = "DESC") @Valid final SortOrder order) {
-    return service.findAll(id, field, order);
+  public QuotePage getQuotes(@PathVariable("id") final Integer id,
+                             @RequestParam(defaultValue = "CREATION_DATE") @Valid final SortField field,
+                             @RequestParam(defaultValue = "DESC") @Valid final SortOrder order,
+                             @RequestParam(required = false) final QuoteCursor cursor,
+                             @RequestParam(defaultValue = "50") @Positive @Max(500) final Integer limit) {
+    return service.findAll(id, field, order, cursor, limit);
+  }
+
+  @Operation(summary = "Search group quotes by text, author and context, ordered by relevance",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Group quotes searched", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = QuotePage.class))}),
+      @ApiResponse(responseCode = "400", description = "Invalid query or cursor", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDetails.class))}),
+      @ApiResponse(responseCode = "403", description = "Principal is no group member", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDetails.class))})})
+  @PreAuthorize("@authorizer.isUserInGroup(principal,#id)")
+  @GetMapping("{id}/quotes/search")
+  public QuotePage searchQuotes(@PathVariable("id") final Integer id,
+                                @RequestParam("q") @NotBlank @Size(max = 256) final String query,
+                                @RequestParam(required = false) final QuoteSearchCursor cursor,
+                                @RequestParam(defaultValue = "50") @Positive @Max(500) final Integer limit) {
+    return service.search(id, query, cursor, limit);
   }
 
   @Operation(summary = "Get a group quote by its id",
@@ -74,6 +97,17 @@ public class GroupQuoteController {
     return service.create(id, request, principal.getId());
   }
 
+  @Operation(summary = "Import group quotes from a JSON array or newline delimited JSON",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Group quotes imported", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = QuoteImport.class))}),
+      @ApiResponse(responseCode = "400", description = "Malformed quote import", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDetails.class))}),
+      @ApiResponse(responseCode = "403", description = "Principal is no group member", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDetails.class))})})
+  @PreAuthorize("@authorizer.isUserInGroup(principal,#id)")
+  @PostMapping(value = "{id}/quotes/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public QuoteImport importQuotes(@PathVariable("id") final Integer id, final InputStream body, @AuthenticationPrincipal UserPrincipal principal) {
+    return service.importQuotes(id, body, principal.getId());
+  }
+
   @Operation(summary = "Get random group quotes",
     responses = {
       @ApiResponse(responseCode = "200", description = "Group quotes found", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = Quote.class))}),
@@ -0,0 +1,46 @@
+package de.zedalite.quotes.web;
+
+import de.zedalite.quotes.repository.QueryStatistics;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/queries}, which lists the statements with the highest total execution time
+ * and the slowest single executions since startup. Only normalized sql is exposed, never bind values.
+ */
+@Component
+@Endpoint(id = "queries")
+public class QueryStatisticsEndpoint {
+
+  private static final int DEFAULT_LIMIT = 20;
+
+  private static final String NEGATIVE_LIMIT = "Limit must not be negative";
+
+  private final QueryStatistics statistics;
+
+  public QueryStatisticsEndpoint(final QueryStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * Lists the query statistics.
+   *
+   * @param limit the maximum number of statements, 20 if not given
+   * @return the statements and the slow queries
+   * @throws InvalidEndpointRequestException if the limit is negative, which is answered with bad request
+   */
+  @ReadOperation
+  public QueryReport queries(@Nullable final Integer limit) throws InvalidEndpointRequestException {
+    if (limit != null && limit < 0) throw new InvalidEndpointRequestException(NEGATIVE_LIMIT, NEGATIVE_LIMIT);
+
+    return new QueryReport(statistics.getStatements(limit != null ? limit : DEFAULT_LIMIT), statistics.getSlowQueries());
+  }
+
+  public record QueryReport(List<QueryStatistics.StatementSummary> statements, List<QueryStatistics.SlowQuery> slowQueries) {
+  }
+}
@@ -5,40 +5,45 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jetbrains.annotations.NotNull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Objects;
 
+/**
+ * Records every request into the {@link AccessLog}. Only references to request values are kept, formatting and
+ * writing happen on the access log worker.
+ */
 @Component
 public class RequestLogger extends OncePerRequestFilter {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(RequestLogger.class);
+  private final AccessLog accessLog;
+
+  public RequestLogger(final AccessLog accessLog) {
+    this.accessLog = accessLog;
+  }
 
   @Override
   protected void doFilterInternal(final @NotNull HttpServletRequest request, final @NotNull HttpServletResponse response, final FilterChain filterChain) throws ServletException, IOException {
-    final Instant start = Instant.now();
+    final long timestamp = System.currentTimeMillis();
+    final long start = System.nanoTime();
     try {
       filterChain.doFilter(request, response);
     } finally {
-      final Instant finish = Instant.now();
-      final long time = Duration.between(start, finish).toMillis();
-
-      final String type = request.getMethod();
+      final long duration = System.nanoTime() - start;
       final String uri = request.getRequestURI();
-      String query = request.getQueryString();
-      query = query != null && !query.isBlank() ? "?" + query : "";
       final int status = response.getStatus();
-      final String client = Objects.requireNonNullElse(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
-      final String user = SecurityContextHolder.getContext().getAuthentication().getName();
 
-      LOGGER.info("request [{} {}{}, status={}, client={}, user={}, duration={}ms]", type, uri, query, status, client, user, time);
+      if (accessLog.isSampled(uri, request.getContextPath().length(), status)) {
+        final String client = Objects.requireNonNullElse(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final String user = authentication != null ? authentication.getName() : null;
+
+        accessLog.record(timestamp, request.getMethod(), uri, request.getQueryString(), status, client, user, duration);
+      }
     }
   }
 }
@@ -84,7 +84,8 @@ CREATE TABLE public.groups (
                                name character varying(32) NOT NULL,
                                display_name character varying(32) NOT NULL,
                                creation_date timestamp without time zone DEFAULT '1970-01-01 00:00:00'::timestamp without time zone NOT NULL,
-                               creator_id integer
+                               creator_id integer,
+                               time_zone character varying(64) DEFAULT 'UTC'::character varying NOT NULL
 );
 
 
@@ -104,6 +105,36 @@ ALTER TABLE public.groups ALTER COLUMN id ADD GENERATED ALWAYS AS IDENTITY (
     );
 
 
+--
+-- Name: quote_outbox; Type: TABLE; Schema: public; Owner: quote
+--
+
+CREATE TABLE public.quote_outbox (
+                                     id bigint NOT NULL,
+                                     group_id integer NOT NULL,
+                                     quote_id integer NOT NULL,
+                                     attempts integer DEFAULT 0 NOT NULL,
+                                     creation_date timestamp without time zone DEFAULT now() NOT NULL,
+                                     next_attempt_at timestamp without time zone DEFAULT now() NOT NULL
+);
+
+
+ALTER TABLE public.quote_outbox OWNER TO "quote";
+
+--
+-- Name: quote_outbox_id_seq; Type: SEQUENCE; Schema: public; Owner: quote
+--
+
+ALTER TABLE public.quote_outbox ALTER COLUMN id ADD GENERATED ALWAYS AS IDENTITY (
+    SEQUENCE NAME public.quote_outbox_id_seq
+    START WITH 1
+    INCREMENT BY 1
+    NO MINVALUE
+    NO MAXVALUE
+    CACHE 1
+    );
+
+
 --
 -- Name: quotes; Type: TABLE; Schema: public; Owner: quote
 --
@@ -114,7 +145,8 @@ CREATE TABLE public.quotes (
                                creation_date timestamp without time zone NOT NULL,
                                text text NOT NULL,
                                context text,
-                               creator_id integer
+                               creator_id integer,
+                               search_vector tsvector GENERATED ALWAYS AS (((setweight(to_tsvector('simple'::regconfig, text), 'A'::"char") || setweight(to_tsvector('simple'::regconfig, (author)::text), 'B'::"char")) || setweight(to_tsvector('simple'::regconfig, COALESCE(context, ''::text)), 'C'::"char"))) STORED
 );
 
 
@@ -215,6 +247,14 @@ ALTER TABLE ONLY public.groups
     ADD CONSTRAINT groups_pkey PRIMARY KEY (id);
 
 
+--
+-- Name: quote_outbox quote_outbox_pkey; Type: CONSTRAINT; Schema: public; Owner: quote
+--
+
+ALTER TABLE ONLY public.quote_outbox
+    ADD CONSTRAINT quote_outbox_pkey PRIMARY KEY (id);
+
+
 --
 -- Name: quotes_of_the_day quotes_of_the_day_pkey; Type: CONSTRAINT; Schema: public; Owner: quote
 --
@@ -223,6 +263,14 @@ ALTER TABLE ONLY public.quotes_of_the_day
     ADD CONSTRAINT quotes_of_the_day_pkey PRIMARY KEY (id);
 
 
+--
+-- Name: quotes_of_the_day quotes_of_the_day_group_id_creation_date_key; Type: CONSTRAINT; Schema: public; Owner: quote
+--
+
+ALTER TABLE ONLY public.quotes_of_the_day
+    ADD CONSTRAINT quotes_of_the_day_group_id_creation_date_key UNIQUE (group_id, creation_date);
+
+
 --
 -- Name: quotes quotes_pkey; Type: CONSTRAINT; Schema: public; Owner: quote
 --
@@ -247,6 +295,13 @@ ALTER TABLE ONLY public.users
     ADD CONSTRAINT users_pkey PRIMARY KEY (id);
 
 
+--
+-- Name: quotes_search_vector_idx; Type: INDEX; Schema: public; Owner: quote
+--
+
+CREATE INDEX quotes_search_vector_idx ON public.quotes USING gin (search_vector);
+
+
 --
 -- Name: group_quotes group_quotes_group_id_fkey; Type: FK CONSTRAINT; Schema: public; Owner: quote
 --
@@ -287,6 +342,14 @@ ALTER TABLE ONLY public.groups
     ADD CONSTRAINT groups_creator_id_fkey FOREIGN KEY (creator_id) REFERENCES public.users(id) ON UPDATE CASCADE ON DELETE SET NULL NOT VALID;
 
 
+--
+-- Name: quote_outbox quote_outbox_quote_id_fkey; Type: FK CONSTRAINT; Schema: public; Owner: quote
+--
+
+ALTER TABLE ONLY public.quote_outbox
+    ADD CONSTRAINT quote_outbox_quote_id_fkey FOREIGN KEY (quote_id) REFERENCES public.quotes(id) ON UPDATE CASCADE ON DELETE CASCADE NOT VALID;
+
+
 --
 -- Name: quotes quotes_creator_id_fkey; Type: FK CONSTRAINT; Schema: public; Owner: quote
 --
@@ -0,0 +1,47 @@
+package de.zedalite.quotes.auth;
+
+import de.zedalite.quotes.fixtures.UserGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+  private final PrincipalCache instance = new PrincipalCache(100L);
+
+  @Test
+  @DisplayName("Should return cached principal")
+  void shouldReturnCachedPrincipal() {
+    final UserPrincipal principal = UserGenerator.getUserPrincipal();
+    instance.put("token", principal, Instant.now().plus(1, ChronoUnit.HOURS));
+
+    assertThat(instance.get("token")).isSameAs(principal);
+    assertThat(instance.get("other-token")).isNull();
+  }
+
+  @Test
+  @DisplayName("Should not cache expired token")
+  void shouldNotCacheExpiredToken() {
+    instance.put("token", UserGenerator.getUserPrincipal(), Instant.now().minusSeconds(1));
+
+    assertThat(instance.get("token")).isNull();
+  }
+
+  @Test
+  @DisplayName("Should invalidate principals of user")
+  void shouldInvalidatePrincipalsOfUser() {
+    final UserPrincipal principal = UserGenerator.getUserPrincipal();
+    final Instant expiry = Instant.now().plus(1, ChronoUnit.HOURS);
+    instance.put("token", principal, expiry);
+    instance.put("second-token", principal, expiry);
+
+    instance.invalidate(principal.getUsername());
+
+    assertThat(instance.get("token")).isNull();
+    assertThat(instance.get("second-token")).isNull();
+  }
+}
@@ -0,0 +1,177 @@
+package de.zedalite.quotes.config;
+
+import de.zedalite.quotes.exceptions.QuoteNotFoundException;
+import de.zedalite.quotes.repository.QueryMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class RepositoryMetricsPostProcessorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private RepositoryMetricsPostProcessor instance;
+
+  @BeforeEach
+  void setUp() {
+    final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("meterRegistry", meterRegistry);
+    instance = new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+  }
+
+  @Test
+  @DisplayName("Should time repository methods")
+  void shouldTimeRepositoryMethods() {
+    final StubRepository repository = (StubRepository) instance.postProcessAfterInitialization(new StubRepository(), "stubRepository");
+
+    repository.find();
+    repository.find();
+
+    final Timer timer = meterRegistry.get("quotes.repository")
+      .tags("repository", "StubRepository", "method", "find", "outcome", "SUCCESS")
+      .timer();
+    assertThat(timer.count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should tag outcome of failed repository methods")
+  void shouldTagOutcomeOfFailedRepositoryMethods() {
+    final StubRepository repository = (StubRepository) instance.postProcessAfterInitialization(new StubRepository(), "stubRepository");
+
+    assertThatCode(repository::findMissing).isInstanceOf(QuoteNotFoundException.class);
+    assertThatCode(repository::fail).isInstanceOf(IllegalStateException.class);
+
+    assertThat(meterRegistry.get("quotes.repository").tags("method", "findMissing", "outcome", "NOT_FOUND").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("quotes.repository").tags("method", "fail", "outcome", "ERROR").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should tag statements with repository method")
+  void shouldTagStatementsWithRepositoryMethod() {
+    final DSLContext dsl = DSL.using(new MockConnection(ctx -> new MockResult[]{new MockResult(1)}), SQLDialect.POSTGRES);
+    dsl.configuration().set(new DefaultExecuteListenerProvider(new QueryMetricsListener(meterRegistry)));
+    final StubRepository repository = (StubRepository) instance.postProcessAfterInitialization(new StubRepository(), "stubRepository");
+
+    repository.update(dsl);
+    dsl.update(DSL.table("quotes")).set(DSL.field("text"), "text").execute();
+
+    assertThat(meterRegistry.get("quotes.query").tags("repository", "StubRepository", "method", "update").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("quotes.query").tags("repository", "none", "method", "none").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should not time cache hits")
+  void shouldNotTimeCacheHits() {
+    try (final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(CachingConfig.class)) {
+      final CachedStubRepository repository = context.getBean(CachedStubRepository.class);
+
+      repository.find(1);
+      repository.find(1);
+      repository.find(2);
+
+      final Timer timer = context.getBean(MeterRegistry.class).get("quotes.repository")
+        .tags("repository", "CachedStubRepository", "method", "find", "outcome", "SUCCESS")
+        .timer();
+      assertThat(context.getBean(AtomicInteger.class).get()).isEqualTo(2);
+      assertThat(timer.count()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  @DisplayName("Should not proxy other beans")
+  void shouldNotProxyOtherBeans() {
+    final Object bean = new Object();
+
+    assertThat(instance.postProcessAfterInitialization(bean, "bean")).isSameAs(bean);
+  }
+
+  @Configuration
+  @EnableCaching
+  static class CachingConfig {
+
+    @Bean
+    static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(final ObjectProvider<MeterRegistry> meterRegistry) {
+      return new RepositoryMetricsPostProcessor(meterRegistry);
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    CacheManager cacheManager() {
+      return new ConcurrentMapCacheManager("stub");
+    }
+
+    @Bean
+    AtomicInteger invocations() {
+      return new AtomicInteger();
+    }
+
+    @Bean
+    CachedStubRepository cachedStubRepository(final AtomicInteger invocations) {
+      return new CachedStubRepository(invocations);
+    }
+  }
+
+  @Repository
+  static class CachedStubRepository {
+
+    private final AtomicInteger invocations;
+
+    CachedStubRepository(final AtomicInteger invocations) {
+      this.invocations = invocations;
+    }
+
+    @Cacheable("stub")
+    public String find(final Integer id) {
+      invocations.incrementAndGet();
+      return "found " + id;
+    }
+  }
+
+  @Repository
+  static class StubRepository {
+
+    public String find() {
+      return "found";
+    }
+
+    public String findMissing() {
+      throw new QuoteNotFoundException("Quote not found");
+    }
+
+    public String fail() {
+      throw new IllegalStateException("Database unavailable");
+    }
+
+    public int update(final DSLContext dsl) {
+      return dsl.update(DSL.table("quotes")).set(DSL.field("text"), "text").execute();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package de.zedalite.quotes.config;
+
+import de.zedalite.quotes.TestEnvironmentProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class SecurityConfigurationTest extends TestEnvironmentProvider {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @DynamicPropertySource
+  static void registerManagementUser(final DynamicPropertyRegistry registry) {
+    registry.add("management.user.name", () -> "monitor");
+    registry.add("management.user.password", () -> new BCryptPasswordEncoder(4).encode("secret"));
+  }
+
+  @Test
+  @DisplayName("Should expose health anonymously")
+  void shouldExposeHealthAnonymously() throws Exception {
+    mockMvc.perform(get("/actuator/health"))
+      .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Should deny actuator endpoints anonymously")
+  void shouldDenyActuatorEndpointsAnonymously() throws Exception {
+    mockMvc.perform(get("/actuator/prometheus"))
+      .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/actuator/queries"))
+      .andExpect(status().isUnauthorized());
+    mockMvc.perform(delete("/actuator/caches"))
+      .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @DisplayName("Should deny actuator endpoints to api users")
+  @WithMockUser
+  void shouldDenyActuatorEndpointsToApiUsers() throws Exception {
+    mockMvc.perform(get("/actuator/prometheus"))
+      .andExpect(status().isForbidden());
+  }
+
+  @Test
+  @DisplayName("Should expose actuator endpoints to management user")
+  void shouldExposeActuatorEndpointsToManagementUser() throws Exception {
+    mockMvc.perform(get("/actuator/prometheus").with(httpBasic("monitor", "secret")))
+      .andExpect(status().isOk());
+    mockMvc.perform(get("/actuator/queries").with(httpBasic("monitor", "secret")))
+      .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Should not expose caches endpoint")
+  void shouldNotExposeCachesEndpoint() throws Exception {
+    mockMvc.perform(delete("/actuator/caches").with(httpBasic("monitor", "secret")))
+      .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("Should deny actuator endpoints with wrong password")
+  void shouldDenyActuatorEndpointsWithWrongPassword() throws Exception {
+    mockMvc.perform(get("/actuator/prometheus").with(httpBasic("monitor", "wrong")))
+      .andExpect(status().isUnauthorized());
+  }
+}
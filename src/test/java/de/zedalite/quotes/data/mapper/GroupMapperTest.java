@@ -18,7 +18,7 @@ class GroupMapperTest {
   @Test
   @DisplayName("Should map groupsRecord to group")
   void shouldMapGroupsRecordToGroup() {
-    final GroupsRecord groupRec = new GroupsRecord(0, "group", "GROUP", LocalDateTime.MIN, 1);
+    final GroupsRecord groupRec = new GroupsRecord(0, "group", "GROUP", LocalDateTime.MIN, 1, "Europe/Berlin");
 
     final Group group = instance.mapToGroup(groupRec);
 
@@ -28,6 +28,7 @@ class GroupMapperTest {
     assertThat(group.displayName()).isEqualTo("GROUP");
     assertThat(group.creationDate()).isEqualTo(LocalDateTime.MIN);
     assertThat(group.creatorId()).isOne();
+    assertThat(group.timeZone()).isEqualTo("Europe/Berlin");
   }
 
   @ParameterizedTest
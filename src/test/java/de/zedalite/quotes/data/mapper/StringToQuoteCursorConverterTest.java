@@ -0,0 +1,59 @@
+package de.zedalite.quotes.data.mapper;
+
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteCursor;
+import de.zedalite.quotes.data.model.SortField;
+import de.zedalite.quotes.fixtures.QuoteGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringToQuoteCursorConverterTest {
+
+  private final StringToQuoteCursorConverter instance = new StringToQuoteCursorConverter();
+
+  @ParameterizedTest(name = "Convert cursor of {0}")
+  @DisplayName("Should convert string to quoteCursor")
+  @EnumSource(SortField.class)
+  void shouldConvertStringToQuoteCursor(final SortField field) {
+    final QuoteCursor cursor = QuoteCursor.of(QuoteGenerator.getQuote(), field);
+
+    assertThat(instance.convert(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  @DisplayName("Should keep separator in key")
+  void shouldKeepSeparatorInKey() {
+    final Quote quote = new Quote(7, "author", LocalDateTime.now(), "time: 12:00", null, null);
+    final QuoteCursor cursor = QuoteCursor.of(quote, SortField.TEXT);
+
+    final QuoteCursor converted = instance.convert(cursor.encode());
+
+    assertThat(converted.key()).isEqualTo("time: 12:00");
+    assertThat(converted.id()).isEqualTo(7);
+  }
+
+  @Test
+  @DisplayName("Should truncate text key")
+  void shouldTruncateTextKey() {
+    final Quote quote = new Quote(7, "author", LocalDateTime.now(), "\uD83D\uDE00".repeat(1000), null, null);
+    final QuoteCursor cursor = QuoteCursor.of(quote, SortField.TEXT);
+
+    assertThat(cursor.key()).isEqualTo("\uD83D\uDE00".repeat(QuoteCursor.TEXT_KEY_LENGTH));
+    assertThat(instance.convert(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @ParameterizedTest(name = "Reject \"{0}\"")
+  @DisplayName("Should throw Exception on invalid input")
+  @ValueSource(strings = {"invalid", "!!!", "dGV4dA", "dGV4dDphOmI", "Y3JlYXRpb25EYXRlOjE6eWVzdGVyZGF5"})
+  void shouldThrowExceptionOnInvalidInput(final String source) {
+    assertThatThrownBy(() -> instance.convert(source)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
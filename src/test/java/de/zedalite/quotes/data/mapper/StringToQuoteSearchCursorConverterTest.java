@@ -0,0 +1,31 @@
+package de.zedalite.quotes.data.mapper;
+
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import de.zedalite.quotes.data.model.SearchEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringToQuoteSearchCursorConverterTest {
+
+  private final StringToQuoteSearchCursorConverter instance = new StringToQuoteSearchCursorConverter();
+
+  @Test
+  @DisplayName("Should convert string to quoteSearchCursor")
+  void shouldConvertStringToQuoteSearchCursor() {
+    final QuoteSearchCursor cursor = new QuoteSearchCursor(SearchEngine.INDEX, 0.1f / 3, 7);
+
+    assertThat(instance.convert(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @ParameterizedTest(name = "Reject \"{0}\"")
+  @DisplayName("Should throw Exception on invalid input")
+  @ValueSource(strings = {"invalid", "!!!", "MC4x", "MC4xOmE", "YTox", "ZGF0YWJhc2U6MC4x", "c2VhcmNoOjAuMTox"})
+  void shouldThrowExceptionOnInvalidInput(final String source) {
+    assertThatThrownBy(() -> instance.convert(source)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
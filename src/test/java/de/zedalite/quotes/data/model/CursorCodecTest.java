@@ -0,0 +1,39 @@
+package de.zedalite.quotes.data.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class CursorCodecTest {
+
+  @Test
+  @DisplayName("Should throw exception when instantiated")
+  void shouldThrowExceptionWhenInstantiated() {
+    assertThatCode(CursorCodec::new).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Should decode encoded parts")
+  void shouldDecodeEncodedParts() {
+    final String token = CursorCodec.encode("text", 1, "a:b");
+
+    assertThat(token).doesNotContain("=", "+", "/");
+    assertThat(CursorCodec.decode(token, 3)).containsExactly("text", "1", "a:b");
+  }
+
+  @Test
+  @DisplayName("Should throw exception when parts are missing")
+  void shouldThrowExceptionWhenPartsAreMissing() {
+    final String token = CursorCodec.encode("text", 1);
+
+    assertThatCode(() -> CursorCodec.decode(token, 3)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should throw exception when token is not base64")
+  void shouldThrowExceptionWhenTokenIsNotBase64() {
+    assertThatCode(() -> CursorCodec.decode("!!!", 2)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
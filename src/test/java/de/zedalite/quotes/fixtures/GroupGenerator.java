@@ -9,17 +9,17 @@ import java.util.List;
 public class GroupGenerator {
 
   public static GroupRequest getGroupRequest() {
-    return new GroupRequest("test-group", "TestGroup", LocalDateTime.now(), 1);
+    return new GroupRequest("test-group", "TestGroup", LocalDateTime.now(), 1, "UTC");
   }
 
   public static Group getGroup() {
-    return new Group(1, "test-group", "TestGroup", LocalDateTime.now(), 1);
+    return new Group(1, "test-group", "TestGroup", LocalDateTime.now(), 1, "UTC");
   }
 
   public static List<Group> getGroups() {
     return List.of(
-      new Group(1, "space", "Space", LocalDateTime.now(), 1),
-      new Group(2, "outerspace", "Outer Space", LocalDateTime.now(), 1)
+      new Group(1, "space", "Space", LocalDateTime.now(), 1, "UTC"),
+      new Group(2, "outerspace", "Outer Space", LocalDateTime.now(), 1, "UTC")
     );
   }
 
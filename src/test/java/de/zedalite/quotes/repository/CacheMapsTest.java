@@ -0,0 +1,53 @@
+package de.zedalite.quotes.repository;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class CacheMapsTest {
+
+  @Test
+  @DisplayName("Should throw when constructor called")
+  void shouldThrowWhenConstructorCalled() {
+    assertThatCode(CacheMaps::new).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Should update cached value")
+  void shouldUpdateCachedValue() {
+    final Cache cache = new CaffeineCache("test", Caffeine.newBuilder().build());
+    cache.put(1, 2);
+
+    CacheMaps.<Integer, Integer>computeIfPresent(cache, 1, value -> value + 1);
+
+    assertThat(cache.get(1, Integer.class)).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should not cache absent value")
+  void shouldNotCacheAbsentValue() {
+    final Cache cache = new CaffeineCache("test", Caffeine.newBuilder().build());
+
+    CacheMaps.<Integer, Integer>computeIfPresent(cache, 1, value -> value + 1);
+
+    assertThat(cache.get(1)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should evict value of non caffeine cache")
+  void shouldEvictValueOfNonCaffeineCache() {
+    final Cache cache = new ConcurrentMapCache("test");
+    cache.put(1, 2);
+
+    CacheMaps.<Integer, Integer>computeIfPresent(cache, 1, value -> value + 1);
+
+    assertThat(cache.get(1)).isNull();
+    assertThat(CacheMaps.<Integer, Integer>asMap(cache)).isNull();
+  }
+}
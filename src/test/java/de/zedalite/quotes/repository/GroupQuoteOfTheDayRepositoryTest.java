@@ -2,7 +2,6 @@ package de.zedalite.quotes.repository;
 
 import de.zedalite.quotes.TestEnvironmentProvider;
 import de.zedalite.quotes.data.model.*;
-import de.zedalite.quotes.exceptions.QotdNotFoundException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,13 +11,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatCode;
 
 @SpringBootTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class GroupQuoteOfTheDayRepositoryTest extends TestEnvironmentProvider {
+
+  // not used by any other test, so that only the groups of this test are filled
+  private static final String TIME_ZONE = "Pacific/Chatham";
+
   @Autowired
   private GroupQuoteOfTheDayRepository instance;
 
@@ -31,6 +35,9 @@ class GroupQuoteOfTheDayRepositoryTest extends TestEnvironmentProvider {
   @Autowired
   private UserRepository userRepository;
 
+  @Autowired
+  private GroupQuoteRepository groupQuoteRepository;
+
   private Integer exampleQuoteId;
 
   private Integer exampleGroupId;
@@ -39,14 +46,14 @@ class GroupQuoteOfTheDayRepositoryTest extends TestEnvironmentProvider {
   void setup() {
     exampleQuoteId = quoteRepository.save(new QuoteRequest("qotd", LocalDateTime.now(), "I'm the best", null, null)).id();
     Integer exampleUserId = userRepository.save(new UserRequest("qotd_user", "qotd_user", "QOTD_USER")).id();
-    exampleGroupId = groupRepository.save(new GroupRequest("qotd_group", "QOTD_GROUP", LocalDateTime.now(), exampleUserId)).id();
+    exampleGroupId = groupRepository.save(new GroupRequest("qotd_group", "QOTD_GROUP", LocalDateTime.now(), exampleUserId, "UTC")).id();
     instance.save(exampleGroupId, new QuoteOfTheDayRequest(exampleQuoteId, LocalDate.now()));
   }
 
   @Test
   @DisplayName("Should save quote of the day")
   void shouldSaveQuoteOfTheDay() {
-    final QuoteOfTheDayRequest qotd = new QuoteOfTheDayRequest(exampleQuoteId, LocalDate.now());
+    final QuoteOfTheDayRequest qotd = new QuoteOfTheDayRequest(exampleQuoteId, LocalDate.now().minusDays(1));
 
     final QuoteOfTheDay savedQotd = instance.save(exampleGroupId, qotd);
     
@@ -54,21 +61,93 @@ class GroupQuoteOfTheDayRepositoryTest extends TestEnvironmentProvider {
     assertThat(savedQotd.quoteId()).isEqualTo(exampleQuoteId);
   }
 
+  @Test
+  @DisplayName("Should keep existing quote of the day")
+  void shouldKeepExistingQuoteOfTheDay() {
+    final Integer otherQuoteId = quoteRepository.save(new QuoteRequest("qotd", LocalDateTime.now(), "I'm the second best", null, null)).id();
+
+    final QuoteOfTheDay savedQotd = instance.save(exampleGroupId, new QuoteOfTheDayRequest(otherQuoteId, LocalDate.now()));
+
+    assertThat(savedQotd.quoteId()).isEqualTo(exampleQuoteId);
+    assertThat(instance.findOrSave(exampleGroupId, LocalDate.now(), () -> otherQuoteId).id()).isEqualTo(exampleQuoteId);
+  }
+
+  @Test
+  @DisplayName("Should find or save quote of the day")
+  void shouldFindOrSaveQuoteOfTheDay() {
+    final LocalDate date = LocalDate.now().plusDays(3);
+    final Quote quote = quoteRepository.save(new QuoteRequest("qotd", LocalDateTime.now(), "I'm picked", null, null));
+
+    final Quote savedQotd = instance.findOrSave(exampleGroupId, date, quote::id);
+    final Quote foundQotd = instance.findOrSave(exampleGroupId, date, () -> {
+      throw new IllegalStateException("quote of the day picked twice");
+    });
+
+    assertThat(savedQotd.id()).isEqualTo(quote.id());
+    assertThat(foundQotd.id()).isEqualTo(quote.id());
+  }
+
   @Test
   @DisplayName("Should find quote of the day according to current date")
   void shouldFindQuoteOfTheDayAccordingToCurrentDate() {
-    final Quote qotd = instance.findByDate(exampleGroupId, LocalDate.now());
+    final Quote qotd = instance.findOrSave(exampleGroupId, LocalDate.now(), () -> {
+      throw new IllegalStateException("quote of the day picked twice");
+    });
 
     assertThat(qotd).isNotNull();
     assertThat(qotd.id()).isEqualTo(exampleQuoteId);
   }
 
   @Test
-  @DisplayName("Should throw exception if quote of the day not found")
-  void shouldThrowExceptionIfQuoteOfTheDayNotFound() {
-    final LocalDate future = LocalDate.now().plusDays(1);
+  @DisplayName("Should find no quote ids without quotes of the day")
+  void shouldFindNoQuoteIdsWithoutQuotesOfTheDay() {
+    final LocalDate past = LocalDate.now().minusYears(1);
+
+    assertThat(instance.findQuoteIds(exampleGroupId, past, past.plusDays(5))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should save quotes of the day of all groups of time zone")
+  void shouldSaveQuotesOfTheDayOfAllGroupsOfTimeZone() {
+    final Integer userId = userRepository.save(new UserRequest("qotd_batch_user", "qotd_batch_user", "QOTD_BATCH_USER")).id();
+    final Integer groupId = saveGroup("qotd_batch_group", userId, 3);
+    final Integer smallGroupId = saveGroup("qotd_small_group", userId, 2);
+    final LocalDate date = LocalDate.now().plusDays(10);
+
+    final int saved = instance.saveAll(date, TIME_ZONE, 3, 1);
+    final int savedAgain = instance.saveAll(date, TIME_ZONE, 3, 1);
+
+    assertThat(saved).isEqualTo(1);
+    assertThat(savedAgain).isZero();
+    assertThat(instance.findQuoteIds(groupId, date, date)).containsOnlyKeys(date);
+    assertThat(instance.findQuoteIds(smallGroupId, date, date)).isEmpty();
+    assertThat(instance.loadAll(date, TIME_ZONE)).containsOnlyKeys(groupId);
+    assertThat(instance.loadAll(date, "UTC")).doesNotContainKey(groupId);
+  }
 
-    assertThatCode(() -> instance.findByDate(exampleGroupId, future)).isInstanceOf(QotdNotFoundException.class);
+  @Test
+  @DisplayName("Should not repeat quotes of the day within window")
+  void shouldNotRepeatQuotesOfTheDayWithinWindow() {
+    final Integer userId = userRepository.save(new UserRequest("qotd_window_user", "qotd_window_user", "QOTD_WINDOW_USER")).id();
+    final Integer groupId = saveGroup("qotd_window_group", userId, 3);
+    final LocalDate date = LocalDate.now().plusDays(20);
+    final int savedQuoteId = groupQuoteRepository.findAllQuoteIds(groupId)[0];
+    instance.save(groupId, new QuoteOfTheDayRequest(savedQuoteId, date));
+
+    instance.saveAll(date.minusDays(1), TIME_ZONE, 3, 1);
+    instance.saveAll(date.plusDays(1), TIME_ZONE, 3, 1);
+
+    assertThat(instance.findQuoteIds(groupId, date.minusDays(1), date.plusDays(1)))
+      .hasSize(3)
+      .containsEntry(date, savedQuoteId)
+      .hasEntrySatisfying(date.minusDays(1), quoteId -> assertThat(quoteId).isNotEqualTo(savedQuoteId))
+      .hasEntrySatisfying(date.plusDays(1), quoteId -> assertThat(quoteId).isNotEqualTo(savedQuoteId));
   }
 
+  private Integer saveGroup(final String name, final Integer userId, final int quotes) {
+    final Integer groupId = groupRepository.save(new GroupRequest(name, name.toUpperCase(), LocalDateTime.now(), userId, TIME_ZONE)).id();
+    IntStream.range(0, quotes)
+      .forEach(i -> groupQuoteRepository.save(groupId, new QuoteRequest("qotd", LocalDateTime.now(), name + " quote " + i, null, userId)));
+    return groupId;
+  }
 }
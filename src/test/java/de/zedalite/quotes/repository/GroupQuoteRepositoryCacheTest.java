@@ -0,0 +1,116 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.TestEnvironmentProvider;
+import de.zedalite.quotes.data.jooq.tables.GroupQuotes;
+import de.zedalite.quotes.data.model.GroupRequest;
+import de.zedalite.quotes.data.model.UserRequest;
+import de.zedalite.quotes.fixtures.QuoteGenerator;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GroupQuoteRepositoryCacheTest extends TestEnvironmentProvider {
+
+  private static final GroupQuotes GROUP_QUOTES = GroupQuotes.GROUP_QUOTES.as("group_quotes");
+
+  @Autowired
+  private GroupQuoteRepository instance;
+
+  @Autowired
+  private GroupRepository groupRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private DSLContext dsl;
+
+  private Integer groupId;
+
+  private Integer otherGroupId;
+
+  @BeforeAll
+  void setup() {
+    final Integer userId = userRepository.save(new UserRequest("qgc", "test")).id();
+    groupId = groupRepository.save(new GroupRequest("cached-quoter-group", "Cached Quoter Group", LocalDateTime.now(), userId, "UTC")).id();
+    otherGroupId = groupRepository.save(new GroupRequest("other-cached-quoter-group", "Other Cached Quoter Group", LocalDateTime.now(), userId, "UTC")).id();
+    instance.save(groupId, QuoteGenerator.getQuoteRequest());
+    instance.save(groupId, QuoteGenerator.getQuoteRequest());
+  }
+
+  @Test
+  @DisplayName("Should count group quotes without caching quote ids")
+  void shouldCountGroupQuotesWithoutCachingQuoteIds() {
+    getCache().evict(groupId);
+    getCountCache().evict(groupId);
+
+    assertThat(instance.count(groupId)).isEqualTo(2);
+    assertThat(getCache().get(groupId)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should count group quotes from cached quote ids")
+  void shouldCountGroupQuotesFromCachedQuoteIds() {
+    getCache().put(groupId, new int[] {1, 2, 3});
+    getCountCache().evict(groupId);
+
+    assertThat(instance.count(groupId)).isEqualTo(3);
+
+    getCache().evict(groupId);
+    getCountCache().evict(groupId);
+  }
+
+  @Test
+  @DisplayName("Should count group quotes from memory until reconciled")
+  void shouldCountGroupQuotesFromMemoryUntilReconciled() {
+    getCountCache().evict(otherGroupId);
+    final int count = instance.count(otherGroupId);
+    // assigned without the repository, so only a statement would see it
+    final Integer quoteId = instance.findAllQuoteIds(groupId)[0];
+    dsl.insertInto(GROUP_QUOTES).set(GROUP_QUOTES.GROUP_ID, otherGroupId).set(GROUP_QUOTES.QUOTE_ID, quoteId).execute();
+
+    assertThat(instance.count(otherGroupId)).isEqualTo(count);
+
+    instance.reconcileCounts();
+
+    assertThat(instance.count(otherGroupId)).isEqualTo(count + 1);
+  }
+
+  @Test
+  @DisplayName("Should increment cached count of saved group quotes")
+  void shouldIncrementCachedCountOfSavedGroupQuotes() {
+    final Integer savingGroupId = groupRepository.save(new GroupRequest("saving-quoter-group", "Saving Quoter Group", LocalDateTime.now(), null, "UTC")).id();
+    assertThat(instance.count(savingGroupId)).isZero();
+
+    instance.save(savingGroupId, QuoteGenerator.getQuoteRequest());
+    instance.saveAll(savingGroupId, List.of(QuoteGenerator.getQuoteRequest(), QuoteGenerator.getQuoteRequest()));
+
+    assertThat(getCountCache().get(savingGroupId, Integer.class)).isEqualTo(3);
+    assertThat(instance.count(savingGroupId)).isEqualTo(3);
+  }
+
+  private Cache getCache() {
+    return Objects.requireNonNull(cacheManager.getCache("group_quote_ids"));
+  }
+
+  private Cache getCountCache() {
+    return Objects.requireNonNull(cacheManager.getCache("group_quote_counts"));
+  }
+}
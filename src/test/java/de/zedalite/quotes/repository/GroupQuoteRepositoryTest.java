@@ -4,7 +4,12 @@ import de.zedalite.quotes.TestEnvironmentProvider;
 import de.zedalite.quotes.data.jooq.tables.GroupQuotes;
 import de.zedalite.quotes.data.model.GroupRequest;
 import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteCursor;
 import de.zedalite.quotes.data.model.QuoteRequest;
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import de.zedalite.quotes.data.model.RankedQuote;
+import de.zedalite.quotes.data.model.SortField;
+import de.zedalite.quotes.data.model.SortOrder;
 import de.zedalite.quotes.data.model.UserRequest;
 import de.zedalite.quotes.fixtures.QuoteGenerator;
 import org.jooq.DSLContext;
@@ -12,13 +17,17 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static de.zedalite.quotes.data.model.SortField.*;
 import static de.zedalite.quotes.data.model.SortOrder.ASC;
@@ -52,7 +61,7 @@ class GroupQuoteRepositoryTest extends TestEnvironmentProvider {
   @BeforeAll
   void setup() {
     final Integer userId = userRepository.save(new UserRequest("qg", "test")).id();
-    groupId = groupRepository.save(new GroupRequest("quoter-group", "Quoter Group", LocalDateTime.now(), userId)).id();
+    groupId = groupRepository.save(new GroupRequest("quoter-group", "Quoter Group", LocalDateTime.now(), userId, "UTC")).id();
     quote = instance.save(groupId, QuoteGenerator.getQuoteRequest());
   }
 
@@ -75,6 +84,18 @@ class GroupQuoteRepositoryTest extends TestEnvironmentProvider {
     assertThat(isInserted).isTrue();
   }
 
+  @Test
+  @DisplayName("Should save all group quotes")
+  void shouldSaveAllGroupQuotes() {
+    final Integer count = instance.count(groupId);
+    final List<QuoteRequest> quoteRequests = List.of(QuoteGenerator.getQuoteRequest(), QuoteGenerator.getQuoteRequest());
+
+    final List<Quote> quotes = instance.saveAll(groupId, quoteRequests);
+
+    assertThat(quotes).hasSize(2).map(Quote::text).containsOnly(quoteRequests.getFirst().text());
+    assertThat(instance.count(groupId)).isEqualTo(count + 2);
+  }
+
   @Test
   @DisplayName("Should find group quote by id")
   void shouldFindGroupQuoteById() {
@@ -94,14 +115,14 @@ class GroupQuoteRepositoryTest extends TestEnvironmentProvider {
   @Test
   @DisplayName("Should find all group quotes")
   void shouldFindAllGroupQuotes() {
-    final List<Quote> sortedAuthorAsc = instance.findAll(groupId, AUTHOR, ASC);
-    final List<Quote> sortedAuthorDesc = instance.findAll(groupId, AUTHOR, DESC);
+    final List<Quote> sortedAuthorAsc = instance.findAll(groupId, AUTHOR, ASC, null, 100);
+    final List<Quote> sortedAuthorDesc = instance.findAll(groupId, AUTHOR, DESC, null, 100);
 
-    final List<Quote> sortedCreationAsc = instance.findAll(groupId, CREATION_DATE, ASC);
-    final List<Quote> sortedCreationDesc = instance.findAll(groupId, CREATION_DATE, DESC);
+    final List<Quote> sortedCreationAsc = instance.findAll(groupId, CREATION_DATE, ASC, null, 100);
+    final List<Quote> sortedCreationDesc = instance.findAll(groupId, CREATION_DATE, DESC, null, 100);
 
-    final List<Quote> sortedTextAsc = instance.findAll(groupId, TEXT, ASC);
-    final List<Quote> sortedTextDesc = instance.findAll(groupId, TEXT, DESC);
+    final List<Quote> sortedTextAsc = instance.findAll(groupId, TEXT, ASC, null, 100);
+    final List<Quote> sortedTextDesc = instance.findAll(groupId, TEXT, DESC, null, 100);
 
     assertThat(sortedAuthorAsc).map(Quote::author).isSortedAccordingTo(Comparator.naturalOrder());
     assertThat(sortedAuthorDesc).map(Quote::author).isSortedAccordingTo(Comparator.reverseOrder());
@@ -113,6 +134,39 @@ class GroupQuoteRepositoryTest extends TestEnvironmentProvider {
     assertThat(sortedTextDesc).map(Quote::author).isSortedAccordingTo(Comparator.reverseOrder());
   }
 
+  @ParameterizedTest(name = "Sort by {0} {1}")
+  @DisplayName("Should page through all group quotes")
+  @CsvSource({"AUTHOR,ASC", "AUTHOR,DESC", "CREATION_DATE,ASC", "CREATION_DATE,DESC", "TEXT,ASC", "TEXT,DESC"})
+  void shouldPageThroughAllGroupQuotes(final SortField field, final SortOrder order) {
+    final List<Quote> expectedQuotes = instance.findAll(groupId, field, order, null, 100);
+
+    final List<Quote> pagedQuotes = new ArrayList<>();
+    List<Quote> page = instance.findAll(groupId, field, order, null, 1);
+    while (!page.isEmpty()) {
+      pagedQuotes.addAll(page);
+      page = instance.findAll(groupId, field, order, QuoteCursor.of(page.getLast(), field), 1);
+    }
+
+    assertThat(pagedQuotes).containsExactlyElementsOf(expectedQuotes);
+  }
+
+  @Test
+  @DisplayName("Should page through long group quotes by text")
+  void shouldPageThroughLongGroupQuotesByText() {
+    final Integer longQuotesGroupId = groupRepository.save(new GroupRequest("long-quotes", "Long Quotes", LocalDateTime.now(), null, "UTC")).id();
+    final String prefix = "a".repeat(QuoteCursor.TEXT_KEY_LENGTH);
+    final Quote first = instance.save(longQuotesGroupId, new QuoteRequest("qa", LocalDateTime.now(), prefix + randomText(10_000), null, null));
+    final Quote second = instance.save(longQuotesGroupId, new QuoteRequest("qa", LocalDateTime.now(), prefix + randomText(10_000), null, null));
+
+    final List<Quote> firstPage = instance.findAll(longQuotesGroupId, TEXT, ASC, null, 1);
+    final QuoteCursor cursor = QuoteCursor.of(firstPage.getLast(), TEXT);
+    final List<Quote> secondPage = instance.findAll(longQuotesGroupId, TEXT, ASC, cursor, 1);
+
+    assertThat(cursor.key()).isEqualTo(prefix);
+    assertThat(firstPage).containsExactly(first);
+    assertThat(secondPage).containsExactly(second);
+  }
+
   @Test
   @DisplayName("Should find random group quotes")
   void shouldFindRandomGroupQuotes() {
@@ -121,6 +175,16 @@ class GroupQuoteRepositoryTest extends TestEnvironmentProvider {
     assertThat(quotes).contains(quote);
   }
 
+  @Test
+  @DisplayName("Should find distinct random group quotes")
+  void shouldFindDistinctRandomGroupQuotes() {
+    final Integer count = instance.count(groupId);
+
+    final List<Quote> quotes = instance.findRandoms(groupId, count + 5);
+
+    assertThat(quotes).hasSize(count).doesNotHaveDuplicates();
+  }
+
   @Test
   @DisplayName("Should find group quote count")
   void shouldFindGroupQuoteCount() {
@@ -128,4 +192,47 @@ class GroupQuoteRepositoryTest extends TestEnvironmentProvider {
 
     assertThat(count).isGreaterThan(1);
   }
+
+  @Test
+  @DisplayName("Should increment group quote count on save")
+  void shouldIncrementGroupQuoteCountOnSave() {
+    final Integer count = instance.count(groupId);
+
+    instance.save(groupId, QuoteGenerator.getQuoteRequest());
+
+    assertThat(instance.count(groupId)).isEqualTo(count + 1);
+  }
+
+  @Test
+  @DisplayName("Should search group quotes ranked")
+  void shouldSearchGroupQuotesRanked() {
+    final Integer searchGroupId = groupRepository.save(new GroupRequest("search-group", "Search Group", LocalDateTime.now(), null, "UTC")).id();
+    final Quote textMatch = instance.save(searchGroupId, new QuoteRequest("tester", LocalDateTime.now(), "penguins can not fly", null, null));
+    final Quote authorMatch = instance.save(searchGroupId, new QuoteRequest("penguins", LocalDateTime.now(), "fish for dinner", null, null));
+    final Quote contextMatch = instance.save(searchGroupId, new QuoteRequest("tester", LocalDateTime.now(), "it is cold", "penguins", null));
+    instance.save(searchGroupId, new QuoteRequest("tester", LocalDateTime.now(), "polar bears", null, null));
+    instance.save(groupId, new QuoteRequest("tester", LocalDateTime.now(), "penguins of another group", null, null));
+
+    final List<RankedQuote> firstPage = instance.search(searchGroupId, "penguins", null, 2);
+    final List<RankedQuote> secondPage = instance.search(searchGroupId, "penguins", QuoteSearchCursor.of(firstPage.getLast()), 2);
+
+    assertThat(firstPage).map(RankedQuote::quote).map(Quote::id).containsExactly(textMatch.id(), authorMatch.id());
+    assertThat(secondPage).map(RankedQuote::quote).map(Quote::id).containsExactly(contextMatch.id());
+    assertThat(instance.search(searchGroupId, "\"cold penguins\"", null, 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should find all quote ids")
+  void shouldFindAllQuoteIds() {
+    final int[] quoteIds = instance.findAllQuoteIds(groupId);
+
+    assertThat(quoteIds).hasSize(instance.count(groupId)).isSorted();
+  }
+
+  private static String randomText(final int length) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final StringBuilder text = new StringBuilder(length);
+    for (int i = 0; i < length; i++) text.append((char) random.nextInt('a', 'z' + 1));
+    return text.toString();
+  }
 }
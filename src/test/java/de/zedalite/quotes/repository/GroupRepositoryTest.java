@@ -14,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -32,15 +33,15 @@ class GroupRepositoryTest extends TestEnvironmentProvider {
     final Integer userId = userRepository.save(new UserRequest("grouptester", "test")).id();
     final Integer userId2 = userRepository.save(new UserRequest("grouptester2", "test2")).id();
 
-    instance.save(new GroupRequest("test-group", "TESTGROUP", LocalDateTime.now(), userId));
-    instance.save(new GroupRequest("best-quoter", "The Best Quoter", LocalDateTime.now(), userId2));
+    instance.save(new GroupRequest("test-group", "TESTGROUP", LocalDateTime.now(), userId, "UTC"));
+    instance.save(new GroupRequest("best-quoter", "The Best Quoter", LocalDateTime.now(), userId2, "Europe/Berlin"));
   }
 
   @Test
   @DisplayName("Should save group")
   void shouldSaveGroup() {
     final LocalDateTime creationDate = LocalDateTime.of(2023, 11, 15, 15, 0, 0);
-    final GroupRequest groupRequest = new GroupRequest("test-group", "TestGroup", creationDate, 1);
+    final GroupRequest groupRequest = new GroupRequest("test-group", "TestGroup", creationDate, 1, "UTC");
 
     final Group savedGroup = instance.save(groupRequest);
 
@@ -50,6 +51,25 @@ class GroupRepositoryTest extends TestEnvironmentProvider {
     assertThat(savedGroup.displayName()).isEqualTo("TestGroup");
     assertThat(savedGroup.creationDate()).isEqualTo(creationDate);
     assertThat(savedGroup.creatorId()).isEqualTo(1);
+    assertThat(savedGroup.timeZone()).isEqualTo("UTC");
+  }
+
+  @Test
+  @DisplayName("Should save group with default time zone")
+  void shouldSaveGroupWithDefaultTimeZone() {
+    final GroupRequest groupRequest = new GroupRequest("zoneless-group", "ZonelessGroup", LocalDateTime.now(), 1, null);
+
+    final Group savedGroup = instance.save(groupRequest);
+
+    assertThat(savedGroup.timeZone()).isEqualTo(GroupRequest.DEFAULT_TIME_ZONE);
+  }
+
+  @Test
+  @DisplayName("Should find time zones")
+  void shouldFindTimeZones() {
+    final Set<String> timeZones = instance.findTimeZones();
+
+    assertThat(timeZones).contains("UTC", "Europe/Berlin");
   }
 
   @Test
@@ -35,7 +35,7 @@ class GroupUserRepositoryTest extends TestEnvironmentProvider {
   @BeforeAll
   void setup() {
     userId = userRepository.save(new UserRequest("grouper", "test")).id();
-    groupId = groupRepository.save(new GroupRequest("groupers-group", "GroupersGroup", LocalDateTime.now(), userId)).id();
+    groupId = groupRepository.save(new GroupRequest("groupers-group", "GroupersGroup", LocalDateTime.now(), userId, "UTC")).id();
   }
 
   @Test
@@ -50,7 +50,7 @@ class GroupUserRepositoryTest extends TestEnvironmentProvider {
   @DisplayName("Should find all group users")
   void shouldFindAllGroupUsers() {
     final Integer userId = userRepository.save(new UserRequest("operator", "op")).id();
-    final Integer groupId = groupRepository.save(new GroupRequest("new-group", "New Group", LocalDateTime.now(), userId)).id();
+    final Integer groupId = groupRepository.save(new GroupRequest("new-group", "New Group", LocalDateTime.now(), userId, "UTC")).id();
     instance.save(groupId, userId);
 
     final List<User> users = instance.findAll(groupId);
@@ -75,6 +75,18 @@ class GroupUserRepositoryTest extends TestEnvironmentProvider {
     assertThat(isInGroup).isTrue();
   }
 
+  @Test
+  @DisplayName("Should return true when user joined group after check")
+  void shouldReturnTrueWhenUserJoinedGroupAfterCheck() {
+    final Integer groupId = groupRepository.save(new GroupRequest("late-group", "Late Group", LocalDateTime.now(), userId, "UTC")).id();
+    final boolean isInGroupBefore = instance.isUserInGroup(groupId, userId);
+
+    instance.save(groupId, userId);
+
+    assertThat(isInGroupBefore).isFalse();
+    assertThat(instance.isUserInGroup(groupId, userId)).isTrue();
+  }
+
   @Test
   @DisplayName("Should return false when user is not in group")
   void shouldReturnFalseWhenUserIsNotInGroup() {
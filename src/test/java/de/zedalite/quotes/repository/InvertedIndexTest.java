@@ -0,0 +1,135 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import de.zedalite.quotes.data.model.RankedQuote;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+  private InvertedIndex instance;
+
+  @BeforeEach
+  void setUp() {
+    instance = new InvertedIndex();
+    instance.add(new Quote(1, "tester", LocalDateTime.MIN, "quotes are awesome", "@Home", 1));
+    instance.add(new Quote(2, "qa", LocalDateTime.MIN, "tests are important", null, 1));
+    instance.add(new Quote(3, "pipeline", LocalDateTime.MIN, "Going brrrrr, tests are green", "@Work", null));
+    instance.add(new Quote(4, "tester", LocalDateTime.MIN, "no more quotes", null, null));
+  }
+
+  @Test
+  @DisplayName("Should find quotes containing all terms")
+  void shouldFindQuotesContainingAllTerms() {
+    final List<RankedQuote> result = instance.search("ARE Tests", null, 10);
+
+    assertThat(result).extracting(rankedQuote -> rankedQuote.quote().id()).containsExactly(3, 2);
+  }
+
+  @Test
+  @DisplayName("Should find quotes by prefix")
+  void shouldFindQuotesByPrefix() {
+    final List<RankedQuote> result = instance.search("quot*", null, 10);
+
+    assertThat(result).extracting(rankedQuote -> rankedQuote.quote().id()).containsExactly(4, 1);
+  }
+
+  @Test
+  @DisplayName("Should find quotes by author")
+  void shouldFindQuotesByAuthor() {
+    instance.add(new Quote(5, "qa", LocalDateTime.MIN, "tester was here", null, null));
+
+    final List<RankedQuote> result = instance.search("author:tester", null, 10);
+
+    assertThat(result).extracting(rankedQuote -> rankedQuote.quote().id()).containsExactly(4, 1);
+  }
+
+  @Test
+  @DisplayName("Should rank text matches above context matches")
+  void shouldRankTextMatchesAboveContextMatches() {
+    instance.add(new Quote(5, "qa", LocalDateTime.MIN, "work work work", null, null));
+
+    final List<RankedQuote> result = instance.search("work", null, 10);
+
+    assertThat(result).extracting(rankedQuote -> rankedQuote.quote().id()).containsExactly(5, 3);
+    assertThat(result.get(0).rank()).isGreaterThan(result.get(1).rank());
+  }
+
+  @Test
+  @DisplayName("Should continue after cursor")
+  void shouldContinueAfterCursor() {
+    final List<RankedQuote> firstPage = instance.search("are", null, 2);
+    final List<RankedQuote> secondPage = instance.search("are", QuoteSearchCursor.of(firstPage.getLast()), 2);
+
+    assertThat(firstPage).extracting(rankedQuote -> rankedQuote.quote().id()).containsExactly(3, 2);
+    assertThat(secondPage).extracting(rankedQuote -> rankedQuote.quote().id()).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("Should exclude quotes with excluded term")
+  void shouldExcludeQuotesWithExcludedTerm() {
+    final List<RankedQuote> result = instance.search("are -green", null, 10);
+
+    assertThat(result).extracting(rankedQuote -> rankedQuote.quote().id()).containsExactly(2, 1);
+  }
+
+  @ParameterizedTest(name = "Support \"{0}\"")
+  @DisplayName("Should support queries of terms")
+  @ValueSource(strings = {"tests", "author:tester quot*", "are -green", "-green are", "or*"})
+  void shouldSupportQueriesOfTerms(final String query) {
+    assertThat(InvertedIndex.supports(query)).isTrue();
+  }
+
+  @ParameterizedTest(name = "Reject \"{0}\"")
+  @DisplayName("Should not support queries with phrases, alternatives or only exclusions")
+  @ValueSource(strings = {"\"tests are\"", "tests or quotes", "tests OR quotes", "-green", "- !"})
+  void shouldNotSupportQueriesWithPhrasesAlternativesOrOnlyExclusions(final String query) {
+    assertThat(InvertedIndex.supports(query)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should not find quotes with missing term")
+  void shouldNotFindQuotesWithMissingTerm() {
+    assertThat(instance.search("tests unknown", null, 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should index quotes added out of order once")
+  void shouldIndexQuotesAddedOutOfOrderOnce() {
+    final InvertedIndex index = new InvertedIndex();
+    index.add(new Quote(7, "qa", LocalDateTime.MIN, "late quote", null, null));
+    index.add(new Quote(5, "qa", LocalDateTime.MIN, "early quote", null, null));
+    index.add(new Quote(5, "qa", LocalDateTime.MIN, "early quote", null, null));
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.search("quote", null, 10)).extracting(rankedQuote -> rankedQuote.quote().id()).containsExactly(7, 5);
+    assertThat(index.estimateMemory()).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should track estimated memory of added quotes")
+  void shouldTrackEstimatedMemoryOfAddedQuotes() {
+    final InvertedIndex index = new InvertedIndex();
+    assertThat(index.estimateMemory()).isZero();
+
+    index.add(new Quote(1, "qa", LocalDateTime.MIN, "quote", null, null));
+    final long firstQuote = index.estimateMemory();
+    index.add(new Quote(2, "qa", LocalDateTime.MIN, "quote", null, null));
+    final long secondQuote = index.estimateMemory() - firstQuote;
+    index.add(new Quote(2, "qa", LocalDateTime.MIN, "quote", null, null));
+
+    assertThat(firstQuote).isPositive();
+    // the second quote adds no terms, only grown posting lists
+    assertThat(secondQuote).isPositive().isLessThan(firstQuote);
+    assertThat(index.estimateMemory()).isEqualTo(firstQuote + secondQuote);
+  }
+}
@@ -1,9 +1,14 @@
 package de.zedalite.quotes.repository;
 
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import de.zedalite.quotes.data.model.FailedNotification;
 import de.zedalite.quotes.data.model.PushNotification;
+import de.zedalite.quotes.data.model.TopicNotification;
 import de.zedalite.quotes.exceptions.NotifierException;
 import de.zedalite.quotes.fixtures.PushNotificationGenerator;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +18,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.BDDMockito.then;
-import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PushNotificationRepositoryTest {
@@ -45,4 +53,63 @@ class PushNotificationRepositoryTest {
 
     assertThatCode(() -> instance.sendToTopic("test", notification)).isInstanceOf(NotifierException.class);
   }
+
+  @Test
+  @DisplayName("Should return failed notifications of batch")
+  void shouldReturnFailedNotificationsOfBatch() throws Exception {
+    final List<TopicNotification> notifications = List.of(
+      new TopicNotification("first", PushNotificationGenerator.getPushNotification()),
+      new TopicNotification("second", PushNotificationGenerator.getPushNotification()));
+    final SendResponse success = mock(SendResponse.class);
+    final SendResponse failure = mock(SendResponse.class);
+    final BatchResponse response = mock(BatchResponse.class);
+    willReturn(true).given(success).isSuccessful();
+    willReturn(false).given(failure).isSuccessful();
+    willReturn(List.of(success, failure)).given(response).getResponses();
+    willReturn(response).given(firebaseMessaging).sendEach(anyList());
+
+    final List<FailedNotification> failed = instance.sendEach(notifications);
+
+    assertThat(failed).containsExactly(new FailedNotification(notifications.get(1), false));
+  }
+
+  @Test
+  @DisplayName("Should mark rejected notifications of batch as permanent failures")
+  void shouldMarkRejectedNotificationsOfBatchAsPermanentFailures() throws Exception {
+    final List<TopicNotification> notifications = List.of(
+      new TopicNotification("first", PushNotificationGenerator.getPushNotification()),
+      new TopicNotification("second", PushNotificationGenerator.getPushNotification()));
+    final SendResponse rejected = mock(SendResponse.class);
+    final SendResponse unavailable = mock(SendResponse.class);
+    final BatchResponse response = mock(BatchResponse.class);
+    willReturn(false).given(rejected).isSuccessful();
+    willReturn(getException(MessagingErrorCode.INVALID_ARGUMENT)).given(rejected).getException();
+    willReturn(false).given(unavailable).isSuccessful();
+    willReturn(getException(MessagingErrorCode.UNAVAILABLE)).given(unavailable).getException();
+    willReturn(List.of(rejected, unavailable)).given(response).getResponses();
+    willReturn(response).given(firebaseMessaging).sendEach(anyList());
+
+    final List<FailedNotification> failed = instance.sendEach(notifications);
+
+    assertThat(failed).containsExactly(
+      new FailedNotification(notifications.get(0), true),
+      new FailedNotification(notifications.get(1), false));
+  }
+
+  @Test
+  @DisplayName("Should return all notifications when batch fails")
+  void shouldReturnAllNotificationsWhenBatchFails() throws Exception {
+    final List<TopicNotification> notifications = List.of(new TopicNotification("first", PushNotificationGenerator.getPushNotification()));
+    willThrow(FirebaseMessagingException.class).given(firebaseMessaging).sendEach(anyList());
+
+    final List<FailedNotification> failed = instance.sendEach(notifications);
+
+    assertThat(failed).containsExactly(new FailedNotification(notifications.get(0), false));
+  }
+
+  private static FirebaseMessagingException getException(final MessagingErrorCode errorCode) {
+    final FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+    willReturn(errorCode).given(exception).getMessagingErrorCode();
+    return exception;
+  }
 }
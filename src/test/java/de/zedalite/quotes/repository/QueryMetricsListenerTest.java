@@ -0,0 +1,66 @@
+package de.zedalite.quotes.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryMetricsListenerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private DSLContext dsl;
+
+  @BeforeEach
+  void setUp() {
+    dsl = DSL.using(new MockConnection(ctx -> new MockResult[]{new MockResult(1)}), SQLDialect.POSTGRES);
+    dsl.configuration().set(new DefaultExecuteListenerProvider(new QueryMetricsListener(meterRegistry)));
+  }
+
+  @Test
+  @DisplayName("Should time statements of repository method")
+  void shouldTimeStatementsOfRepositoryMethod() {
+    final QueryMetricsListener.Caller previous = QueryMetricsListener.enter("QuoteRepository", "save");
+    try {
+      dsl.update(DSL.table("quotes")).set(DSL.field("text"), "text").execute();
+      dsl.update(DSL.table("quotes")).set(DSL.field("text"), "text").execute();
+    } finally {
+      QueryMetricsListener.exit(previous);
+    }
+
+    assertThat(meterRegistry.get("quotes.query").tags("repository", "QuoteRepository", "method", "save").timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should restore previous repository method")
+  void shouldRestorePreviousRepositoryMethod() {
+    final QueryMetricsListener.Caller outer = QueryMetricsListener.enter("GroupQuoteRepository", "save");
+    try {
+      final QueryMetricsListener.Caller inner = QueryMetricsListener.enter("QuoteRepository", "incrementCount");
+      QueryMetricsListener.exit(inner);
+
+      dsl.update(DSL.table("quotes")).set(DSL.field("text"), "text").execute();
+    } finally {
+      QueryMetricsListener.exit(outer);
+    }
+
+    assertThat(meterRegistry.get("quotes.query").tags("repository", "GroupQuoteRepository", "method", "save").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.find("quotes.query").tags("method", "incrementCount").timer()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should time statements outside of repository methods")
+  void shouldTimeStatementsOutsideOfRepositoryMethods() {
+    dsl.update(DSL.table("quotes")).set(DSL.field("text"), "text").execute();
+
+    assertThat(meterRegistry.get("quotes.query").tags("repository", "none", "method", "none").timer().count()).isEqualTo(1);
+  }
+}
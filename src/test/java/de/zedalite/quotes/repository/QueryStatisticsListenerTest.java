@@ -0,0 +1,83 @@
+package de.zedalite.quotes.repository;
+
+import org.jooq.DSLContext;
+import org.jooq.Record1;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatisticsListenerTest {
+
+  private final QueryStatistics statistics = new QueryStatistics(10L, 10);
+
+  private DSLContext dsl;
+
+  @BeforeEach
+  void setUp() {
+    final DSLContext results = DSL.using(SQLDialect.POSTGRES);
+    final Result<Record1<Integer>> result = results.newResult(DSL.field("id", Integer.class));
+    result.add(results.newRecord(DSL.field("id", Integer.class)).values(1));
+    result.add(results.newRecord(DSL.field("id", Integer.class)).values(2));
+
+    dsl = DSL.using(new MockConnection(ctx -> ctx.sql().startsWith("select")
+      ? new MockResult[]{new MockResult(result.size(), result)}
+      : new MockResult[]{new MockResult(3)}), SQLDialect.POSTGRES);
+    dsl.configuration().set(new DefaultExecuteListenerProvider(new QueryStatisticsListener(statistics, Duration.ZERO)));
+  }
+
+  @Test
+  @DisplayName("Should record fetched rows")
+  void shouldRecordFetchedRows() {
+    dsl.select(DSL.field("id")).from("quotes").where(DSL.field("id").in(1, 2, 3)).fetch();
+    dsl.select(DSL.field("id")).from("quotes").where(DSL.field("id").in(4, 5)).fetch();
+
+    assertThat(statistics.getStatements(10)).singleElement().satisfies(statement -> {
+      assertThat(statement.sql()).isEqualTo("select id from quotes where id in (?, ...)");
+      assertThat(statement.count()).isEqualTo(2);
+      assertThat(statement.rows()).isEqualTo(4);
+    });
+  }
+
+  @Test
+  @DisplayName("Should record affected rows")
+  void shouldRecordAffectedRows() {
+    dsl.update(DSL.table("quotes")).set(DSL.field("text"), "secret").execute();
+
+    assertThat(statistics.getStatements(10)).singleElement().satisfies(statement -> {
+      assertThat(statement.sql()).isEqualTo("update quotes set text = ?");
+      assertThat(statement.rows()).isEqualTo(3);
+    });
+    assertThat(statistics.getSlowQueries()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Should normalize statements")
+  void shouldNormalizeStatements() {
+    assertThat(QueryStatisticsListener.normalize("insert into t (a, b)\n  values (?, ?), (?, ?), (?, ?)"))
+      .isEqualTo("insert into t (a, b) values (?, ...), ...");
+    assertThat(QueryStatisticsListener.normalize("select * from t where a = ?")).isEqualTo("select * from t where a = ?");
+  }
+
+  @Test
+  @DisplayName("Should redact bind values")
+  void shouldRedactBindValues() {
+    final LocalDateTime now = LocalDateTime.now();
+
+    assertThat(List.of(1, true, now).stream().map(QueryStatisticsListener::redact)).containsExactly("1", "true", now.toString());
+    assertThat(QueryStatisticsListener.redact("password")).isEqualTo("'***'");
+    assertThat(QueryStatisticsListener.redact(new byte[]{1})).isEqualTo("'***'");
+    assertThat(QueryStatisticsListener.redact(null)).isEqualTo("null");
+  }
+}
@@ -0,0 +1,63 @@
+package de.zedalite.quotes.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatisticsTest {
+
+  private final QueryStatistics instance = new QueryStatistics(10L, 2);
+
+  @Test
+  @DisplayName("Should aggregate executions by statement")
+  void shouldAggregateExecutionsByStatement() {
+    instance.record("select 1", 100, 1);
+    instance.record("select 1", 300, 2);
+    instance.record("select 2", 50, 0);
+
+    assertThat(instance.getStatements(10)).satisfiesExactly(
+      statement -> {
+        assertThat(statement.sql()).isEqualTo("select 1");
+        assertThat(statement.count()).isEqualTo(2);
+        assertThat(statement.total()).isEqualTo(Duration.ofNanos(400));
+        assertThat(statement.mean()).isEqualTo(Duration.ofNanos(200));
+        assertThat(statement.max()).isEqualTo(Duration.ofNanos(300));
+        assertThat(statement.rows()).isEqualTo(3);
+      },
+      statement -> assertThat(statement.sql()).isEqualTo("select 2"));
+  }
+
+  @Test
+  @DisplayName("Should limit statements")
+  void shouldLimitStatements() {
+    instance.record("select 1", 100, 1);
+    instance.record("select 2", 200, 1);
+
+    assertThat(instance.getStatements(1)).extracting(QueryStatistics.StatementSummary::sql).containsExactly("select 2");
+  }
+
+  @Test
+  @DisplayName("Should keep slowest queries")
+  void shouldKeepSlowestQueries() {
+    instance.record("select 1", 300, 1);
+    instance.record("select 2", 100, 1);
+    instance.record("select 3", 500, 1);
+    instance.record("select 4", 200, 1);
+
+    assertThat(instance.getSlowQueries()).extracting(QueryStatistics.SlowQuery::sql).containsExactly("select 3", "select 1");
+  }
+
+  @Test
+  @DisplayName("Should reset statistics")
+  void shouldResetStatistics() {
+    instance.record("select 1", 300, 1);
+
+    instance.reset();
+
+    assertThat(instance.getStatements(10)).isEmpty();
+    assertThat(instance.getSlowQueries()).isEmpty();
+  }
+}
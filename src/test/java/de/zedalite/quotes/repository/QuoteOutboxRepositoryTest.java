@@ -0,0 +1,138 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.TestEnvironmentProvider;
+import de.zedalite.quotes.data.jooq.tables.QuoteOutbox;
+import de.zedalite.quotes.data.jooq.tables.records.QuoteOutboxRecord;
+import de.zedalite.quotes.data.model.GroupRequest;
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteOutboxEntry;
+import de.zedalite.quotes.data.model.UserRequest;
+import de.zedalite.quotes.fixtures.QuoteGenerator;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(value = "classpath:test-no-cache.properties", properties = "notification.outbox.relay-interval=PT1H")
+class QuoteOutboxRepositoryTest extends TestEnvironmentProvider {
+
+  private static final QuoteOutbox QUOTE_OUTBOX = QuoteOutbox.QUOTE_OUTBOX.as("quote_outbox");
+
+  @Autowired
+  private QuoteOutboxRepository instance;
+
+  @Autowired
+  private GroupQuoteRepository groupQuoteRepository;
+
+  @Autowired
+  private GroupRepository groupRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private DSLContext dsl;
+
+  private Integer groupId;
+
+  @BeforeAll
+  void setup() {
+    final Integer userId = userRepository.save(new UserRequest("outboxer", "test")).id();
+    groupId = groupRepository.save(new GroupRequest("outbox-group", "Outbox Group", LocalDateTime.now(), userId, "UTC")).id();
+  }
+
+  @Test
+  @DisplayName("Should write outbox entry with group quote")
+  void shouldWriteOutboxEntryWithGroupQuote() {
+    final Quote quote = groupQuoteRepository.save(groupId, QuoteGenerator.getQuoteRequest());
+
+    final QuoteOutboxRecord entry = findEntry(quote);
+
+    assertThat(entry.getGroupId()).isEqualTo(groupId);
+    assertThat(entry.getQuoteId()).isEqualTo(quote.id());
+  }
+
+  @Test
+  @DisplayName("Should find pending outbox entries and skip locked ones")
+  void shouldFindPendingOutboxEntriesAndSkipLockedOnes() {
+    final Quote quote = groupQuoteRepository.save(groupId, QuoteGenerator.getQuoteRequest());
+    final Long id = findEntry(quote).getId();
+
+    dsl.transaction(configuration -> {
+      // locks the entry against relays of other test contexts and makes it due
+      DSL.using(configuration).update(QUOTE_OUTBOX)
+        .set(QUOTE_OUTBOX.NEXT_ATTEMPT_AT, LocalDateTime.now().minusMinutes(1))
+        .where(QUOTE_OUTBOX.ID.eq(id))
+        .execute();
+
+      final List<QuoteOutboxEntry> entries = instance.findPending(1000);
+      final List<QuoteOutboxEntry> concurrentEntries = CompletableFuture.supplyAsync(() -> instance.findPending(1000)).join();
+
+      assertThat(entries).anySatisfy(entry -> {
+        assertThat(entry.id()).isEqualTo(id);
+        assertThat(entry.groupId()).isEqualTo(groupId);
+        assertThat(entry.quote()).isEqualTo(quote);
+      });
+      assertThat(concurrentEntries).noneMatch(entry -> entry.id().equals(id));
+    });
+  }
+
+  @Test
+  @DisplayName("Should increment attempts and defer outbox entries")
+  void shouldIncrementAttemptsAndDeferOutboxEntries() {
+    final Quote quote = groupQuoteRepository.save(groupId, QuoteGenerator.getQuoteRequest());
+    final QuoteOutboxRecord entry = findEntry(quote);
+
+    instance.incrementAttempts(List.of(entry.getId()), Duration.ofHours(1), Duration.ofHours(2));
+
+    final QuoteOutboxRecord deferredEntry = findEntry(quote);
+    assertThat(deferredEntry.getAttempts()).isGreaterThan(entry.getAttempts());
+    assertThat(deferredEntry.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(59));
+    assertThat(instance.findPending(1000)).noneMatch(pending -> pending.id().equals(entry.getId()));
+  }
+
+  @Test
+  @DisplayName("Should limit backoff of outbox entries")
+  void shouldLimitBackoffOfOutboxEntries() {
+    final Quote quote = groupQuoteRepository.save(groupId, QuoteGenerator.getQuoteRequest());
+    final Long id = findEntry(quote).getId();
+    dsl.update(QUOTE_OUTBOX).set(QUOTE_OUTBOX.ATTEMPTS, 20).where(QUOTE_OUTBOX.ID.eq(id)).execute();
+
+    instance.incrementAttempts(List.of(id), Duration.ofHours(1), Duration.ofHours(2));
+
+    assertThat(findEntry(quote).getNextAttemptAt())
+      .isAfter(LocalDateTime.now().plusMinutes(119))
+      .isBefore(LocalDateTime.now().plusMinutes(121));
+  }
+
+  @Test
+  @DisplayName("Should delete outbox entries")
+  void shouldDeleteOutboxEntries() {
+    final Quote quote = groupQuoteRepository.save(groupId, QuoteGenerator.getQuoteRequest());
+    final Long id = findEntry(quote).getId();
+
+    instance.delete(List.of(id));
+
+    assertThat(dsl.fetchExists(QUOTE_OUTBOX, QUOTE_OUTBOX.ID.eq(id))).isFalse();
+  }
+
+  private QuoteOutboxRecord findEntry(final Quote quote) {
+    return dsl.selectFrom(QUOTE_OUTBOX)
+      .where(QUOTE_OUTBOX.QUOTE_ID.eq(quote.id()))
+      .fetchSingle();
+  }
+}
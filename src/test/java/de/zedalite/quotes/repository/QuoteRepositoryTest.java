@@ -59,4 +59,14 @@ class QuoteRepositoryTest extends TestEnvironmentProvider {
 
     assertThat(quoteCount).isGreaterThanOrEqualTo(3);
   }
+
+  @Test
+  @DisplayName("Should increment quote count on save")
+  void shouldIncrementQuoteCountOnSave() {
+    final Integer quoteCount = instance.count();
+
+    instance.save(new QuoteRequest("counter", LocalDateTime.now(), "count me", null, null));
+
+    assertThat(instance.count()).isEqualTo(quoteCount + 1);
+  }
 }
@@ -0,0 +1,162 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.TestEnvironmentProvider;
+import de.zedalite.quotes.data.model.GroupRequest;
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteRequest;
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import de.zedalite.quotes.data.model.RankedQuote;
+import de.zedalite.quotes.data.model.SearchEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.TransactionalRunnable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(value = "classpath:test-no-cache.properties")
+class QuoteSearchIndexTest extends TestEnvironmentProvider {
+
+  @Autowired
+  private DSLContext dsl;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private QuoteRepository quoteRepository;
+
+  @Autowired
+  private GroupRepository groupRepository;
+
+  @Autowired
+  private GroupQuoteRepository groupQuoteRepository;
+
+  private Integer groupId;
+
+  private Quote textMatch;
+
+  private Quote authorMatch;
+
+  @BeforeAll
+  void setup() {
+    groupId = groupRepository.save(new GroupRequest("index-group", "Index Group", LocalDateTime.now(), null, "UTC")).id();
+    textMatch = groupQuoteRepository.save(groupId, new QuoteRequest("tester", LocalDateTime.now(), "walruses can swim", null, null));
+    authorMatch = groupQuoteRepository.save(groupId, new QuoteRequest("walruses", LocalDateTime.now(), "fish for dinner", null, null));
+    groupQuoteRepository.save(groupId, new QuoteRequest("tester", LocalDateTime.now(), "walruses in cold water", null, null));
+  }
+
+  @Test
+  @DisplayName("Should build index of all group quotes")
+  void shouldBuildIndexOfAllGroupQuotes() {
+    final QuoteSearchIndex index = createIndex(true);
+
+    index.build();
+
+    assertThat(index.isReady()).isTrue();
+    assertThat(index.search(groupId, "walruses -cold", null, 10))
+      .map(RankedQuote::quote).map(Quote::id).containsExactly(textMatch.id(), authorMatch.id());
+  }
+
+  @Test
+  @DisplayName("Should search index when ready")
+  void shouldSearchIndexWhenReady() {
+    final QuoteSearchIndex index = createIndex(true);
+    final GroupQuoteRepository repository = new GroupQuoteRepository(dsl, cacheManager, quoteRepository, index);
+    index.build();
+
+    final List<RankedQuote> firstPage = repository.search(groupId, "walruses", null, 2);
+    final List<RankedQuote> secondPage = repository.search(groupId, "walruses", QuoteSearchCursor.of(firstPage.getLast()), 2);
+
+    assertThat(firstPage).hasSize(2).map(RankedQuote::engine).containsOnly(SearchEngine.INDEX);
+    assertThat(secondPage).hasSize(1).map(RankedQuote::engine).containsOnly(SearchEngine.INDEX);
+  }
+
+  @Test
+  @DisplayName("Should index saved quotes")
+  void shouldIndexSavedQuotes() {
+    final QuoteSearchIndex index = createIndex(true);
+    final GroupQuoteRepository repository = new GroupQuoteRepository(dsl, cacheManager, quoteRepository, index);
+    index.build();
+
+    final Quote savedQuote = repository.save(groupId, new QuoteRequest("tester", LocalDateTime.now(), "narwhals can swim", null, null));
+
+    assertThat(index.search(groupId, "narwhals", null, 10)).map(RankedQuote::quote).map(Quote::id).containsExactly(savedQuote.id());
+  }
+
+  @Test
+  @DisplayName("Should search database until index is built")
+  void shouldSearchDatabaseUntilIndexIsBuilt() {
+    final QuoteSearchIndex index = createIndex(true);
+    final GroupQuoteRepository repository = new GroupQuoteRepository(dsl, cacheManager, quoteRepository, index);
+
+    assertThat(index.isReady()).isFalse();
+    assertThat(repository.search(groupId, "walruses", null, 10)).hasSize(3).map(RankedQuote::engine).containsOnly(SearchEngine.DATABASE);
+  }
+
+  @Test
+  @DisplayName("Should search database when index is disabled")
+  void shouldSearchDatabaseWhenIndexIsDisabled() {
+    final QuoteSearchIndex index = createIndex(false);
+    index.build();
+
+    assertThat(index.isReady()).isFalse();
+    assertThat(index.supports("walruses")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should search database when query is not supported by index")
+  void shouldSearchDatabaseWhenQueryIsNotSupportedByIndex() {
+    final QuoteSearchIndex index = createIndex(true);
+    final GroupQuoteRepository repository = new GroupQuoteRepository(dsl, cacheManager, quoteRepository, index);
+    index.build();
+
+    final List<RankedQuote> rankedQuotes = repository.search(groupId, "\"in cold water\"", null, 10);
+
+    assertThat(rankedQuotes).hasSize(1).map(RankedQuote::engine).containsOnly(SearchEngine.DATABASE);
+  }
+
+  @Test
+  @DisplayName("Should search database with database cursor when index is ready")
+  void shouldSearchDatabaseWithDatabaseCursorWhenIndexIsReady() {
+    final QuoteSearchIndex index = createIndex(true);
+    final GroupQuoteRepository repository = new GroupQuoteRepository(dsl, cacheManager, quoteRepository, index);
+    final List<RankedQuote> firstPage = repository.search(groupId, "walruses", null, 2);
+    index.build();
+
+    final List<RankedQuote> secondPage = repository.search(groupId, "walruses", QuoteSearchCursor.of(firstPage.getLast()), 2);
+
+    assertThat(secondPage).hasSize(1).map(RankedQuote::engine).containsOnly(SearchEngine.DATABASE);
+  }
+
+  @Test
+  @DisplayName("Should not be ready when build fails")
+  void shouldNotBeReadyWhenBuildFails() {
+    final DSLContext failingDsl = mock(DSLContext.class);
+    willThrow(IllegalStateException.class).given(failingDsl).transaction(any(TransactionalRunnable.class));
+    final QuoteSearchIndex index = new QuoteSearchIndex(failingDsl, new SimpleMeterRegistry(), true);
+
+    index.build();
+
+    assertThat(index.isReady()).isFalse();
+  }
+
+  private QuoteSearchIndex createIndex(final boolean enabled) {
+    return new QuoteSearchIndex(dsl, new SimpleMeterRegistry(), enabled);
+  }
+}
@@ -0,0 +1,58 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.TestEnvironmentProvider;
+import de.zedalite.quotes.data.model.User;
+import de.zedalite.quotes.data.model.UserRequest;
+import de.zedalite.quotes.exceptions.UserNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserRepositoryCacheTest extends TestEnvironmentProvider {
+
+  @Autowired
+  private UserRepository instance;
+
+  @Test
+  @DisplayName("Should share cached user between name and id lookup")
+  void shouldShareCachedUserBetweenNameAndIdLookup() {
+    final Integer userId = instance.save(new UserRequest("cached", "cached1")).id();
+
+    final User byName = instance.findByName("cached");
+    final User byId = instance.findById(userId);
+
+    assertThat(byName).isSameAs(byId);
+  }
+
+  @Test
+  @DisplayName("Should find updated user by name")
+  void shouldFindUpdatedUserByName() {
+    final Integer userId = instance.save(new UserRequest("stale", "stale1")).id();
+    instance.findByName("stale");
+
+    instance.update(userId, new UserRequest("stale", "fresh1", "FRESH"));
+
+    final User user = instance.findByName("stale");
+    assertThat(user.password()).isEqualTo("fresh1");
+    assertThat(user.displayName()).isEqualTo("FRESH");
+  }
+
+  @Test
+  @DisplayName("Should not find renamed user by previous name")
+  void shouldNotFindRenamedUserByPreviousName() {
+    final Integer userId = instance.save(new UserRequest("oldname", "rename1")).id();
+    instance.findByName("oldname");
+
+    instance.update(userId, new UserRequest("newname", "rename1"));
+
+    assertThat(instance.findByName("newname").id()).isEqualTo(userId);
+    assertThatCode(() -> instance.findByName("oldname")).isInstanceOf(UserNotFoundException.class);
+  }
+}
@@ -0,0 +1,74 @@
+package de.zedalite.quotes.repository;
+
+import de.zedalite.quotes.data.jooq.tables.Users;
+import de.zedalite.quotes.data.jooq.tables.records.UsersRecord;
+import de.zedalite.quotes.data.model.User;
+import org.jooq.DSLContext;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulates an update, which caches the updated user while a read of the previous user is still running.
+ */
+class UserRepositoryConcurrencyTest {
+
+  private static final LocalDateTime CREATION_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private static final User PREVIOUS_USER = new User(1, "tester", "previous", "Previous", CREATION_DATE);
+
+  private static final User UPDATED_USER = new User(1, "tester", "updated", "Updated", CREATION_DATE);
+
+  private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("users", "user_names");
+
+  private UserRepository instance;
+
+  @BeforeEach
+  void setUp() {
+    final DSLContext results = DSL.using(SQLDialect.POSTGRES);
+    final Result<UsersRecord> previousUser = results.newResult(Users.USERS);
+    previousUser.add(new UsersRecord(PREVIOUS_USER.id(), PREVIOUS_USER.name(), PREVIOUS_USER.password(),
+      PREVIOUS_USER.displayName(), PREVIOUS_USER.creationDate()));
+
+    final DSLContext dsl = DSL.using(new MockConnection(ctx -> {
+      cacheManager.getCache("users").put(UPDATED_USER.id(), UPDATED_USER);
+      return new MockResult[]{new MockResult(previousUser.size(), previousUser)};
+    }), SQLDialect.POSTGRES);
+    instance = new UserRepository(dsl, cacheManager);
+  }
+
+  @Test
+  @DisplayName("Should keep updated user cached on overlapping find by id")
+  void shouldKeepUpdatedUserCachedOnOverlappingFindById() {
+    instance.findById(1);
+
+    assertThat(instance.findById(1)).isEqualTo(UPDATED_USER);
+  }
+
+  @Test
+  @DisplayName("Should keep updated user cached on overlapping find by name")
+  void shouldKeepUpdatedUserCachedOnOverlappingFindByName() {
+    instance.findByName("tester");
+
+    assertThat(instance.findByName("tester")).isEqualTo(UPDATED_USER);
+  }
+
+  @Test
+  @DisplayName("Should keep updated user cached on overlapping find all by ids")
+  void shouldKeepUpdatedUserCachedOnOverlappingFindAllByIds() {
+    instance.findAllByIds(List.of(1));
+
+    assertThat(instance.findAllByIds(List.of(1))).containsExactly(UPDATED_USER);
+  }
+}
@@ -61,6 +61,17 @@ class UserRepositoryTest extends TestEnvironmentProvider {
     assertThat(users.getFirst().name()).isEqualTo("tester");
   }
 
+  @Test
+  @DisplayName("Should find all by ids in requested order")
+  void shouldFindAllByIdsInRequestedOrder() {
+    final Integer firstId = instance.save(new UserRequest("first", "first1")).id();
+    final Integer secondId = instance.save(new UserRequest("second", "second2")).id();
+
+    final List<User> users = instance.findAllByIds(List.of(secondId, 9876, firstId, secondId));
+
+    assertThat(users).map(User::id).containsExactly(secondId, firstId);
+  }
+
   @Test
   @DisplayName("Should find user by name")
   void shouldFindUserByName() {
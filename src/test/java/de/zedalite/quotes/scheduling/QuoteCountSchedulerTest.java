@@ -0,0 +1,34 @@
+package de.zedalite.quotes.scheduling;
+
+import de.zedalite.quotes.repository.GroupQuoteRepository;
+import de.zedalite.quotes.repository.QuoteRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteCountSchedulerTest {
+
+  @InjectMocks
+  private QuoteCountScheduler instance;
+
+  @Mock
+  private QuoteRepository quoteRepository;
+
+  @Mock
+  private GroupQuoteRepository groupQuoteRepository;
+
+  @Test
+  @DisplayName("Should reconcile quote counts")
+  void shouldReconcileQuoteCounts() {
+    instance.reconcileCounts();
+
+    then(quoteRepository).should().reconcileCount();
+    then(groupQuoteRepository).should().reconcileCounts();
+  }
+}
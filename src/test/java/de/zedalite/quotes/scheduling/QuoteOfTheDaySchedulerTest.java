@@ -1,33 +1,95 @@
 package de.zedalite.quotes.scheduling;
 
 import de.zedalite.quotes.service.GroupQuoteOfTheDayService;
-import de.zedalite.quotes.service.GroupService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import static org.mockito.BDDMockito.then;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class QuoteOfTheDaySchedulerTest {
 
-  @InjectMocks
-  private QuoteOfTheDayScheduler instance;
+  private static final ZoneId UTC = ZoneId.of("UTC");
 
-  @Mock
-  private GroupService groupService;
+  private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+  private static final LocalDate DATE = LocalDate.of(2024, 1, 2);
 
   @Mock
   private GroupQuoteOfTheDayService groupQuoteOfTheDayService;
 
   @Test
-  @DisplayName("Should reset quoteOfTheDay")
-  void shouldResetQuoteOfTheDay() {
-    instance.resetQuoteOfTheDay();
+  @DisplayName("Should roll over quoteOfTheDay before local midnight")
+  void shouldRollOverQuoteOfTheDayBeforeLocalMidnight() {
+    willReturn(Set.of(UTC)).given(groupQuoteOfTheDayService).findTimeZones();
+
+    createInstance("2024-01-01T23:56:00Z").rollOverQuoteOfTheDay();
+
+    then(groupQuoteOfTheDayService).should().fillLookahead(UTC, DATE);
+    then(groupQuoteOfTheDayService).should().advanceQuotesOfTheDay(DATE, UTC);
+  }
+
+  @Test
+  @DisplayName("Should not roll over quoteOfTheDay before due")
+  void shouldNotRollOverQuoteOfTheDayBeforeDue() {
+    willReturn(Set.of(UTC)).given(groupQuoteOfTheDayService).findTimeZones();
+
+    createInstance("2024-01-01T23:54:00Z").rollOverQuoteOfTheDay();
+
+    then(groupQuoteOfTheDayService).should(never()).advanceQuotesOfTheDay(any(LocalDate.class), any(ZoneId.class));
+  }
+
+  @Test
+  @DisplayName("Should roll over quoteOfTheDay per time zone")
+  void shouldRollOverQuoteOfTheDayPerTimeZone() {
+    willReturn(Set.of(UTC, TOKYO)).given(groupQuoteOfTheDayService).findTimeZones();
+
+    createInstance("2024-01-01T14:56:00Z").rollOverQuoteOfTheDay();
+
+    then(groupQuoteOfTheDayService).should().advanceQuotesOfTheDay(DATE, TOKYO);
+    then(groupQuoteOfTheDayService).should(never()).advanceQuotesOfTheDay(any(LocalDate.class), eq(UTC));
+  }
+
+  @Test
+  @DisplayName("Should roll over quoteOfTheDay once per day")
+  void shouldRollOverQuoteOfTheDayOncePerDay() {
+    willReturn(Set.of(UTC)).given(groupQuoteOfTheDayService).findTimeZones();
+    final QuoteOfTheDayScheduler instance = createInstance("2024-01-01T23:56:00Z");
+
+    instance.rollOverQuoteOfTheDay();
+    instance.rollOverQuoteOfTheDay();
+
+    then(groupQuoteOfTheDayService).should(times(1)).advanceQuotesOfTheDay(any(LocalDate.class), any(ZoneId.class));
+  }
+
+  @Test
+  @DisplayName("Should continue rollover when a time zone fails")
+  void shouldContinueRolloverWhenATimeZoneFails() {
+    final ZoneId london = ZoneId.of("Europe/London");
+    willReturn(Set.of(UTC, london)).given(groupQuoteOfTheDayService).findTimeZones();
+    willReturn(0).given(groupQuoteOfTheDayService).fillLookahead(eq(UTC), any(LocalDate.class));
+    willThrow(IllegalStateException.class).given(groupQuoteOfTheDayService).fillLookahead(eq(london), any(LocalDate.class));
+
+    createInstance("2024-01-01T23:56:00Z").rollOverQuoteOfTheDay();
+
+    then(groupQuoteOfTheDayService).should().advanceQuotesOfTheDay(DATE, UTC);
+  }
 
-    then(groupService).should().findAllIds();
+  private QuoteOfTheDayScheduler createInstance(final String instant) {
+    final Clock clock = Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+    return new QuoteOfTheDayScheduler(groupQuoteOfTheDayService, Duration.ofMinutes(5), clock);
   }
 }
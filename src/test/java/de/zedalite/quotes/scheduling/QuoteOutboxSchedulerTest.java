@@ -0,0 +1,43 @@
+package de.zedalite.quotes.scheduling;
+
+import de.zedalite.quotes.service.QuoteOutboxRelay;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteOutboxSchedulerTest {
+
+  @InjectMocks
+  private QuoteOutboxScheduler instance;
+
+  @Mock
+  private QuoteOutboxRelay relay;
+
+  @Test
+  @DisplayName("Should relay notifications until outbox is drained")
+  void shouldRelayNotificationsUntilOutboxIsDrained() {
+    willReturn(10).given(relay).getBatchSize();
+    willReturn(10, 10, 3).given(relay).relay();
+
+    instance.relayNotifications();
+
+    then(relay).should(times(3)).relay();
+  }
+
+  @Test
+  @DisplayName("Should stop relaying when batch has failures")
+  void shouldStopRelayingWhenBatchHasFailures() {
+    willReturn(10).given(relay).getBatchSize();
+    willReturn(9).given(relay).relay();
+
+    instance.relayNotifications();
+
+    then(relay).should(times(1)).relay();
+  }
+}
@@ -1,34 +1,43 @@
 package de.zedalite.quotes.service;
 
+import de.zedalite.quotes.data.model.Group;
 import de.zedalite.quotes.data.model.Quote;
 import de.zedalite.quotes.data.model.QuoteMessage;
-import de.zedalite.quotes.data.model.QuoteOfTheDayRequest;
-import de.zedalite.quotes.exceptions.QotdNotFoundException;
+import de.zedalite.quotes.exceptions.GroupNotFoundException;
 import de.zedalite.quotes.exceptions.ResourceNotFoundException;
+import de.zedalite.quotes.fixtures.GroupGenerator;
 import de.zedalite.quotes.fixtures.QuoteGenerator;
 import de.zedalite.quotes.repository.GroupQuoteOfTheDayRepository;
 import de.zedalite.quotes.repository.GroupQuoteRepository;
-import de.zedalite.quotes.repository.UserRepository;
+import de.zedalite.quotes.repository.GroupRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class GroupQuoteOfTheDayServiceTest {
 
-  @InjectMocks
   private GroupQuoteOfTheDayService instance;
 
   @Mock
@@ -38,8 +47,15 @@ class GroupQuoteOfTheDayServiceTest {
   private GroupQuoteRepository groupQuoteRepository;
 
   @Mock
-  private UserRepository userRepository;
+  private GroupRepository groupRepository;
 
+  @Mock
+  private MentionService mentionService;
+
+  @BeforeEach
+  void setup() {
+    instance = new GroupQuoteOfTheDayService(repository, groupQuoteRepository, groupRepository, mentionService, 7, 30);
+  }
 
   @Test
   @DisplayName("Should find quote of the day")
@@ -47,10 +63,13 @@ class GroupQuoteOfTheDayServiceTest {
     final Quote expectedQotd = QuoteGenerator.getQuote();
 
     willReturn(10).given(groupQuoteRepository).count(anyInt());
-    willReturn(expectedQotd).given(repository).findByDate(anyInt(), any(LocalDate.class));
+    willReturn(GroupGenerator.getGroup()).given(groupRepository).findById(1);
+    willReturn(expectedQotd).given(repository).findOrSave(anyInt(), any(LocalDate.class), any());
+    willReturn(QuoteGenerator.getQuoteMessage()).given(mentionService).resolve(expectedQotd);
 
     final QuoteMessage quoteOfTheDay = instance.findQuoteOfTheDay(1);
 
+    then(groupQuoteRepository).should(never()).findAllQuoteIds(anyInt());
     assertThat(quoteOfTheDay).isNotNull();
     assertThat(quoteOfTheDay.id()).isEqualTo(expectedQotd.id());
   }
@@ -69,14 +88,99 @@ class GroupQuoteOfTheDayServiceTest {
     final Quote expectedQotd = QuoteGenerator.getQuote();
 
     willReturn(10).given(groupQuoteRepository).count(anyInt());
-    willThrow(QotdNotFoundException.class).given(repository).findByDate(anyInt(), any(LocalDate.class));
-    willReturn(List.of(expectedQotd)).given(groupQuoteRepository).findRandoms(anyInt(), anyInt());
+    willReturn(GroupGenerator.getGroup()).given(groupRepository).findById(1);
+    willReturn(new int[]{expectedQotd.id()}).given(groupQuoteRepository).findAllQuoteIds(1);
+    willReturn(new TreeMap<>()).given(repository).findQuoteIds(eq(1), any(LocalDate.class), any(LocalDate.class));
+    willAnswer(invocation -> invocation.<IntSupplier>getArgument(2).getAsInt() == expectedQotd.id() ? expectedQotd : null)
+      .given(repository).findOrSave(eq(1), eq(LocalDate.now(ZoneOffset.UTC)), any());
+    willReturn(QuoteGenerator.getQuoteMessage()).given(mentionService).resolve(expectedQotd);
 
     final QuoteMessage quoteOfTheDay = instance.findQuoteOfTheDay(1);
 
-    then(repository).should().save(expectedQotd.id(), new QuoteOfTheDayRequest(expectedQotd.id(), LocalDate.now()));
-
     assertThat(quoteOfTheDay).isNotNull();
     assertThat(quoteOfTheDay.id()).isEqualTo(expectedQotd.id());
   }
+
+  @Test
+  @DisplayName("Should find quote of the day of local date of group")
+  void shouldFindQuoteOfTheDayOfLocalDateOfGroup() {
+    final Group group = GroupGenerator.getGroup();
+    final ZoneId timeZone = ZoneId.of("Pacific/Kiritimati");
+    final Quote expectedQotd = QuoteGenerator.getQuote();
+
+    willReturn(10).given(groupQuoteRepository).count(anyInt());
+    willReturn(new Group(group.id(), group.name(), group.displayName(), group.creationDate(), group.creatorId(), timeZone.getId()))
+      .given(groupRepository).findById(1);
+    willReturn(expectedQotd).given(repository).findOrSave(anyInt(), any(LocalDate.class), any());
+
+    instance.findQuoteOfTheDay(1);
+
+    then(repository).should().findOrSave(eq(1), eq(LocalDate.now(timeZone)), any());
+  }
+
+  @Test
+  @DisplayName("Should throw exception when group not found")
+  void shouldThrowExceptionWhenGroupNotFound() {
+    willReturn(10).given(groupQuoteRepository).count(anyInt());
+    willThrow(GroupNotFoundException.class).given(groupRepository).findById(1);
+
+    assertThatCode(() -> instance.findQuoteOfTheDay(1)).isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("Should find time zones")
+  void shouldFindTimeZones() {
+    willReturn(Set.of("UTC", "Europe/Berlin")).given(groupRepository).findTimeZones();
+
+    final Set<ZoneId> timeZones = instance.findTimeZones();
+
+    assertThat(timeZones).containsExactlyInAnyOrder(ZoneId.of("UTC"), ZoneId.of("Europe/Berlin"));
+  }
+
+  @Test
+  @DisplayName("Should skip invalid time zones")
+  void shouldSkipInvalidTimeZones() {
+    willReturn(Set.of("UTC", "Mars/Olympus_Mons", "")).given(groupRepository).findTimeZones();
+
+    final Set<ZoneId> timeZones = instance.findTimeZones();
+
+    assertThat(timeZones).containsExactly(ZoneId.of("UTC"));
+  }
+
+  @Test
+  @DisplayName("Should fill lookahead of time zone")
+  void shouldFillLookaheadOfTimeZone() {
+    final LocalDate date = LocalDate.of(2024, 1, 1);
+    willReturn(2).given(repository).saveAll(any(LocalDate.class), eq("UTC"), eq(10), eq(30));
+
+    final int saved = instance.fillLookahead(ZoneId.of("UTC"), date);
+
+    assertThat(saved).isEqualTo(14);
+    final InOrder inOrder = inOrder(repository);
+    IntStream.range(0, 7).forEach(day -> inOrder.verify(repository).saveAll(date.plusDays(day), "UTC", 10, 30));
+  }
+
+  @Test
+  @DisplayName("Should not pick quotes of the day within window")
+  void shouldNotPickQuotesOfTheDayWithinWindow() {
+    final LocalDate date = LocalDate.of(2024, 1, 1);
+    willReturn(IntStream.rangeClosed(1, 4).toArray()).given(groupQuoteRepository).findAllQuoteIds(1);
+    willReturn(new TreeMap<>(Map.of(date.minusDays(1), 3, date.plusDays(1), 1, date.plusDays(2), 2)))
+      .given(repository).findQuoteIds(1, date.minusDays(30), date.plusDays(30));
+    willAnswer(invocation -> new Quote(invocation.<IntSupplier>getArgument(2).getAsInt(), "author", LocalDateTime.now(), "text", null, null))
+      .given(repository).findOrSave(eq(1), eq(date), any());
+
+    IntStream.range(0, 20).forEach(i -> assertThat(instance.findOrSaveQuoteOfTheDay(1, date).id()).isEqualTo(4));
+  }
+
+  @Test
+  @DisplayName("Should advance quotes of the day")
+  void shouldAdvanceQuotesOfTheDay() {
+    final LocalDate date = LocalDate.now().plusDays(1);
+    willReturn(Map.of(1, QuoteGenerator.getQuote())).given(repository).loadAll(date, "UTC");
+
+    final Set<Integer> groupIds = instance.advanceQuotesOfTheDay(date, ZoneId.of("UTC"));
+
+    assertThat(groupIds).containsExactly(1);
+  }
 }
@@ -1,30 +1,52 @@
 package de.zedalite.quotes.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import de.zedalite.quotes.data.model.PushNotification;
 import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteCursor;
+import de.zedalite.quotes.data.model.QuoteImport;
 import de.zedalite.quotes.data.model.QuoteMessage;
+import de.zedalite.quotes.data.model.QuotePage;
 import de.zedalite.quotes.data.model.QuoteRequest;
-import de.zedalite.quotes.exceptions.NotifierException;
+import de.zedalite.quotes.data.model.QuoteSearchCursor;
+import de.zedalite.quotes.data.model.RankedQuote;
+import de.zedalite.quotes.data.model.SearchEngine;
+import de.zedalite.quotes.data.model.User;
+import de.zedalite.quotes.exceptions.InvalidCursorException;
+import de.zedalite.quotes.exceptions.InvalidImportException;
 import de.zedalite.quotes.exceptions.QuoteNotFoundException;
 import de.zedalite.quotes.exceptions.ResourceNotFoundException;
 import de.zedalite.quotes.fixtures.QuoteGenerator;
+import de.zedalite.quotes.fixtures.UserGenerator;
 import de.zedalite.quotes.repository.GroupQuoteRepository;
-import de.zedalite.quotes.repository.PushNotificationRepository;
 import de.zedalite.quotes.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
+import static de.zedalite.quotes.data.model.SortField.AUTHOR;
 import static de.zedalite.quotes.data.model.SortField.CREATION_DATE;
 import static de.zedalite.quotes.data.model.SortOrder.DESC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +58,20 @@ class GroupQuoteServiceTest {
   @Mock
   private GroupQuoteRepository repository;
 
+  @Mock
+  private MentionService mentionService;
+
   @Mock
   private UserRepository userRepository;
 
   @Mock
-  private PushNotificationRepository notifierRepository;
+  private PushNotificationDispatcher notificationDispatcher;
+
+  @Spy
+  private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+  @Mock
+  private Validator validator;
 
   @Test
   @DisplayName("Should create group quote")
@@ -48,11 +79,12 @@ class GroupQuoteServiceTest {
     final QuoteRequest quoteRequest = QuoteGenerator.getQuoteRequest();
     final Quote expectedQuote = QuoteGenerator.getQuote();
     willReturn(expectedQuote).given(repository).save(1, quoteRequest);
+    willReturn(QuoteGenerator.getQuoteMessage()).given(mentionService).resolve(expectedQuote);
 
     instance.create(1, quoteRequest);
 
     then(repository).should().save(1, quoteRequest);
-    then(notifierRepository).should().sendToTopic(any(), any(PushNotification.class));
+    then(notificationDispatcher).shouldHaveNoInteractions();
   }
 
   @Test
@@ -61,11 +93,12 @@ class GroupQuoteServiceTest {
     final QuoteRequest quoteRequest = QuoteGenerator.getQuoteRequest();
     final Quote expectedQuote = QuoteGenerator.getQuote();
     willReturn(expectedQuote).given(repository).save(1, quoteRequest);
+    willReturn(QuoteGenerator.getQuoteMessage()).given(mentionService).resolve(expectedQuote);
 
     instance.create(1, quoteRequest, 2);
 
     then(repository).should().save(1, quoteRequest);
-    then(notifierRepository).should().sendToTopic(any(), any(PushNotification.class));
+    then(notificationDispatcher).shouldHaveNoInteractions();
   }
 
   @Test
@@ -74,52 +107,199 @@ class GroupQuoteServiceTest {
     final QuoteRequest quoteRequest = QuoteGenerator.getQuoteRequest().withCreatorId(null);
     final Quote expectedQuote = QuoteGenerator.getQuote();
     willReturn(expectedQuote).given(repository).save(1, quoteRequest.withCreatorId(2));
+    willReturn(QuoteGenerator.getQuoteMessage()).given(mentionService).resolve(expectedQuote);
 
     instance.create(1, quoteRequest, 2);
 
     then(repository).should().save(1, quoteRequest.withCreatorId(2));
-    then(notifierRepository).should().sendToTopic(any(), any(PushNotification.class));
+    then(notificationDispatcher).shouldHaveNoInteractions();
   }
 
   @Test
-  @DisplayName("Should create group quote with failed notification")
-  void shouldCreateGroupQuoteWithFailedNotification() {
+  @DisplayName("Should throw exception when group quote not created")
+  void shouldThrowExceptionWhenGroupQuoteNotCreated() {
     final QuoteRequest quoteRequest = QuoteGenerator.getQuoteRequest();
-    final Quote expectedQuote = QuoteGenerator.getQuote();
-    willReturn(expectedQuote).given(repository).save(1, quoteRequest);
-    willThrow(NotifierException.class).given(notifierRepository).sendToTopic(any(), any(PushNotification.class));
+    willThrow(QuoteNotFoundException.class).given(repository).save(1, quoteRequest);
 
-    instance.create(1, quoteRequest, 2);
+    assertThatCode(() -> instance.create(1, quoteRequest)).isInstanceOf(ResourceNotFoundException.class);
+  }
 
-    then(repository).should().save(1, quoteRequest);
+  @Test
+  @DisplayName("Should import group quotes from json array")
+  void shouldImportGroupQuotesFromJsonArray() {
+    final String body = """
+      [{"author":"tester","creationDate":"2024-01-01T10:00:00","text":"first","creatorId":1},
+       {"author":"tester","creationDate":"2024-01-01T11:00:00","text":"second"}]
+      """;
+    givenUsers(1, 2);
+    willReturn(List.of(QuoteGenerator.getQuote(), QuoteGenerator.getQuote())).given(repository).saveAll(eq(1), anyList());
+
+    final QuoteImport quoteImport = instance.importQuotes(1, toStream(body), 2);
+
+    assertThat(quoteImport).isEqualTo(new QuoteImport(2, 0));
+    then(repository).should().saveAll(1, List.of(
+      new QuoteRequest("tester", LocalDateTime.parse("2024-01-01T10:00:00"), "first", null, 1),
+      new QuoteRequest("tester", LocalDateTime.parse("2024-01-01T11:00:00"), "second", null, 2)));
+    then(notificationDispatcher).should(times(1)).dispatch(any(), any(PushNotification.class));
   }
 
   @Test
-  @DisplayName("Should throw exception when group quote not created")
-  void shouldThrowExceptionWhenGroupQuoteNotCreated() {
-    final QuoteRequest quoteRequest = QuoteGenerator.getQuoteRequest();
-    willThrow(QuoteNotFoundException.class).given(repository).save(1, quoteRequest);
+  @DisplayName("Should import group quotes from newline delimited json")
+  void shouldImportGroupQuotesFromNewlineDelimitedJson() {
+    final String body = """
+      {"author":"tester","creationDate":"2024-01-01T10:00:00","text":"hi <@3>"}
+      {"author":"tester","creationDate":"2024-01-01T11:00:00","text":"hi <@404>"}
+      """;
+    givenUsers(2);
+    willReturn(Set.of(3)).given(mentionService).findMentionedUserIds(List.of("hi <@3>", "hi <@404>"));
+    willReturn(List.of(QuoteGenerator.getQuote())).given(repository).saveAll(eq(1), anyList());
+
+    final QuoteImport quoteImport = instance.importQuotes(1, toStream(body), 2);
+
+    assertThat(quoteImport).isEqualTo(new QuoteImport(1, 1));
+    then(repository).should().saveAll(1, List.of(new QuoteRequest("tester", LocalDateTime.parse("2024-01-01T10:00:00"), "hi <@3>", null, 2)));
+  }
 
-    assertThatCode(() -> instance.create(1, quoteRequest)).isInstanceOf(ResourceNotFoundException.class);
+  @Test
+  @DisplayName("Should reject invalid group quotes on import")
+  void shouldRejectInvalidGroupQuotesOnImport() {
+    final String body = """
+      [{"author":"tester","text":"no date"}]
+      """;
+    willReturn(Set.of(mock(ConstraintViolation.class))).given(validator).validate(any(QuoteRequest.class));
+
+    final QuoteImport quoteImport = instance.importQuotes(1, toStream(body), 2);
+
+    assertThat(quoteImport).isEqualTo(new QuoteImport(0, 1));
+    then(notificationDispatcher).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("Should reject null group quotes on import")
+  void shouldRejectNullGroupQuotesOnImport() {
+    final QuoteImport quoteImport = instance.importQuotes(1, toStream("[null]"), 2);
+
+    assertThat(quoteImport).isEqualTo(new QuoteImport(0, 1));
+    then(validator).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("Should reject group quotes of unknown creators on import")
+  void shouldRejectGroupQuotesOfUnknownCreatorsOnImport() {
+    final String body = """
+      [{"author":"tester","creationDate":"2024-01-01T10:00:00","text":"first","creatorId":404},
+       {"author":"tester","creationDate":"2024-01-01T11:00:00","text":"second"}]
+      """;
+    givenUsers(2);
+    willReturn(List.of(QuoteGenerator.getQuote())).given(repository).saveAll(eq(1), anyList());
+
+    final QuoteImport quoteImport = instance.importQuotes(1, toStream(body), 2);
+
+    assertThat(quoteImport).isEqualTo(new QuoteImport(1, 1));
+    then(userRepository).should().findAllByIds(List.of(404, 2));
+    then(repository).should().saveAll(1, List.of(new QuoteRequest("tester", LocalDateTime.parse("2024-01-01T11:00:00"), "second", null, 2)));
+  }
+
+  @Test
+  @DisplayName("Should throw exception when group quote import is malformed")
+  void shouldThrowExceptionWhenGroupQuoteImportIsMalformed() {
+    final InputStream body = toStream("[{\"author\":");
+
+    assertThatCode(() -> instance.importQuotes(1, body, 2)).isInstanceOf(InvalidImportException.class);
   }
 
   @Test
   @DisplayName("Should find all group quotes")
   void shouldFindAllGroupQuotes() {
     final List<Quote> expectedQuotes = QuoteGenerator.getQuotes();
-    willReturn(expectedQuotes).given(repository).findAll(1, CREATION_DATE, DESC);
+    willReturn(expectedQuotes).given(repository).findAll(1, CREATION_DATE, DESC, null, 11);
+    willReturn(QuoteGenerator.getQuoteMessages()).given(mentionService).resolve(expectedQuotes);
 
-    final List<QuoteMessage> quotes = instance.findAll(1, CREATION_DATE, DESC);
+    final QuotePage page = instance.findAll(1, CREATION_DATE, DESC, null, 10);
 
-    assertThat(quotes).hasSize(expectedQuotes.size());
+    assertThat(page.quotes()).hasSize(expectedQuotes.size());
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should find group quotes page with next cursor")
+  void shouldFindGroupQuotesPageWithNextCursor() {
+    final List<Quote> expectedQuotes = QuoteGenerator.getQuotes();
+    willReturn(expectedQuotes).given(repository).findAll(1, CREATION_DATE, DESC, null, 3);
+    willReturn(QuoteGenerator.getQuoteMessages().subList(0, 2)).given(mentionService).resolve(expectedQuotes.subList(0, 2));
+
+    final QuotePage page = instance.findAll(1, CREATION_DATE, DESC, null, 2);
+
+    assertThat(page.quotes()).hasSize(2);
+    assertThat(QuoteCursor.decode(page.nextCursor())).isEqualTo(QuoteCursor.of(expectedQuotes.get(1), CREATION_DATE));
+  }
+
+  @Test
+  @DisplayName("Should search group quotes")
+  void shouldSearchGroupQuotes() {
+    final List<Quote> expectedQuotes = QuoteGenerator.getQuotes();
+    final List<RankedQuote> rankedQuotes = expectedQuotes.stream().map(quote -> new RankedQuote(quote, 0.5f, SearchEngine.INDEX)).toList();
+    willReturn(rankedQuotes).given(repository).search(1, "test", null, 11);
+    willReturn(QuoteGenerator.getQuoteMessages()).given(mentionService).resolve(expectedQuotes);
+
+    final QuotePage page = instance.search(1, "test", null, 10);
+
+    assertThat(page.quotes()).hasSize(expectedQuotes.size());
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should search group quotes page with next cursor")
+  void shouldSearchGroupQuotesPageWithNextCursor() {
+    final List<Quote> expectedQuotes = QuoteGenerator.getQuotes();
+    final List<RankedQuote> rankedQuotes = expectedQuotes.stream().map(quote -> new RankedQuote(quote, 0.5f, SearchEngine.INDEX)).toList();
+    willReturn(rankedQuotes).given(repository).search(1, "test", null, 3);
+    willReturn(QuoteGenerator.getQuoteMessages().subList(0, 2)).given(mentionService).resolve(expectedQuotes.subList(0, 2));
+
+    final QuotePage page = instance.search(1, "test", null, 2);
+
+    assertThat(page.quotes()).hasSize(2);
+    assertThat(QuoteSearchCursor.decode(page.nextCursor())).isEqualTo(new QuoteSearchCursor(SearchEngine.INDEX, 0.5f, expectedQuotes.get(1).id()));
+  }
+
+  @Test
+  @DisplayName("Should throw exception when search engine of cursor is not available")
+  void shouldThrowExceptionWhenSearchEngineOfCursorIsNotAvailable() {
+    final QuoteSearchCursor cursor = new QuoteSearchCursor(SearchEngine.INDEX, 0.5f, 1);
+    willReturn(SearchEngine.DATABASE).given(repository).findSearchEngine("test");
+
+    assertThatCode(() -> instance.search(1, "test", cursor, 10)).isInstanceOf(InvalidCursorException.class);
+    then(repository).should(never()).search(anyInt(), anyString(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should search with database cursor when index is available")
+  void shouldSearchWithDatabaseCursorWhenIndexIsAvailable() {
+    final QuoteSearchCursor cursor = new QuoteSearchCursor(SearchEngine.DATABASE, 0.5f, 1);
+    willReturn(List.of()).given(repository).search(1, "test", cursor, 11);
+    willReturn(List.of()).given(mentionService).resolve(List.<Quote>of());
+
+    final QuotePage page = instance.search(1, "test", cursor, 10);
+
+    assertThat(page.quotes()).isEmpty();
+    then(repository).should(never()).findSearchEngine(anyString());
+  }
+
+  @Test
+  @DisplayName("Should throw exception when cursor does not match sort field")
+  void shouldThrowExceptionWhenCursorDoesNotMatchSortField() {
+    final QuoteCursor cursor = QuoteCursor.of(QuoteGenerator.getQuote(), AUTHOR);
+
+    assertThatCode(() -> instance.findAll(1, CREATION_DATE, DESC, cursor, 10)).isInstanceOf(InvalidCursorException.class);
+    then(repository).shouldHaveNoInteractions();
   }
 
   @Test
   @DisplayName("Should throw exception when group quotes not found")
   void shouldThrowExceptionWhenGroupQuotesNotFound() {
-    willThrow(QuoteNotFoundException.class).given(repository).findAll(1, CREATION_DATE, DESC);
+    willThrow(QuoteNotFoundException.class).given(repository).findAll(1, CREATION_DATE, DESC, null, 11);
 
-    assertThatCode(() -> instance.findAll(1, CREATION_DATE, DESC)).isInstanceOf(ResourceNotFoundException.class);
+    assertThatCode(() -> instance.findAll(1, CREATION_DATE, DESC, null, 10)).isInstanceOf(ResourceNotFoundException.class);
   }
 
   @Test
@@ -131,6 +311,7 @@ class GroupQuoteServiceTest {
     instance.find(1, 2);
     
     then(repository).should().findById(1, 2);
+    then(mentionService).should().resolve(expectedQuote);
   }
 
   @Test
@@ -146,6 +327,7 @@ class GroupQuoteServiceTest {
   void shouldFindRandomGroupQuotes() {
     final List<Quote> expectedQuotes = QuoteGenerator.getQuotes();
     willReturn(expectedQuotes).given(repository).findRandoms(1, 3);
+    willReturn(QuoteGenerator.getQuoteMessages()).given(mentionService).resolve(expectedQuotes);
 
     final List<QuoteMessage> quotes = instance.findRandoms(1, 3);
 
@@ -170,4 +352,16 @@ class GroupQuoteServiceTest {
     assertThat(count).isEqualTo(5);
     then(repository).should().count(1);
   }
+
+  private void givenUsers(final Integer... ids) {
+    final User user = UserGenerator.getUser();
+    final List<User> users = Arrays.stream(ids)
+      .map(id -> new User(id, user.name(), user.password(), user.displayName(), user.creationDate()))
+      .toList();
+    willReturn(users).given(userRepository).findAllByIds(anyList());
+  }
+
+  private static InputStream toStream(final String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
 }
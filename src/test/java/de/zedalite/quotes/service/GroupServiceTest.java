@@ -4,6 +4,7 @@ import de.zedalite.quotes.data.model.Group;
 import de.zedalite.quotes.data.model.GroupRequest;
 import de.zedalite.quotes.data.model.User;
 import de.zedalite.quotes.exceptions.GroupNotFoundException;
+import de.zedalite.quotes.exceptions.InvalidTimeZoneException;
 import de.zedalite.quotes.exceptions.ResourceNotFoundException;
 import de.zedalite.quotes.fixtures.GroupGenerator;
 import de.zedalite.quotes.fixtures.UserGenerator;
@@ -89,6 +90,16 @@ class GroupServiceTest {
     assertThatCode(() -> instance.create(groupRequest)).isInstanceOf(ResourceNotFoundException.class);
   }
 
+  @Test
+  @DisplayName("Should throw exception when time zone invalid")
+  void shouldThrowExceptionWhenTimeZoneInvalid() {
+    final GroupRequest request = GroupGenerator.getGroupRequest();
+    final GroupRequest groupRequest = new GroupRequest(request.name(), request.displayName(), request.creationDate(), request.creatorId(), "Mars/Olympus_Mons");
+
+    assertThatCode(() -> instance.create(groupRequest)).isInstanceOf(InvalidTimeZoneException.class);
+    then(groupRepository).shouldHaveNoInteractions();
+  }
+
   @Test
   @DisplayName("Should find group by id")
   void shouldFindGroupById() {
@@ -1,10 +1,13 @@
 package de.zedalite.quotes.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 
 class JwtTokenServiceTest {
 
@@ -29,5 +32,23 @@ class JwtTokenServiceTest {
     assertThat(user).isEqualTo("quoter");
   }
 
-  //TODO test for invalid and expired token
+  @Test
+  @DisplayName("Should verify token")
+  void shouldVerifyToken() {
+    final String token = instance.generateToken("quoter");
+    final DecodedJWT jwt = instance.verifyToken(token);
+
+    assertThat(jwt.getSubject()).isEqualTo("quoter");
+    assertThat(jwt.getExpiresAtAsInstant()).isAfter(jwt.getIssuedAtAsInstant());
+  }
+
+  @Test
+  @DisplayName("Should reject token with invalid signature")
+  void shouldRejectTokenWithInvalidSignature() {
+    final String token = new JwtTokenService("other", 10L).generateToken("quoter");
+
+    assertThatCode(() -> instance.verifyToken(token)).isInstanceOf(JWTVerificationException.class);
+  }
+
+  //TODO test for expired token
 }
@@ -0,0 +1,84 @@
+package de.zedalite.quotes.service;
+
+import de.zedalite.quotes.data.model.Quote;
+import de.zedalite.quotes.data.model.QuoteMessage;
+import de.zedalite.quotes.data.model.User;
+import de.zedalite.quotes.exceptions.UserNotFoundException;
+import de.zedalite.quotes.fixtures.QuoteGenerator;
+import de.zedalite.quotes.fixtures.UserGenerator;
+import de.zedalite.quotes.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MentionServiceTest {
+
+  @InjectMocks
+  private MentionService instance;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Test
+  @DisplayName("Should resolve mentions of all quotes with one lookup")
+  void shouldResolveMentionsOfAllQuotesWithOneLookup() {
+    final List<Quote> quotes = List.of(
+      new Quote(1, "tester", LocalDateTime.now(), "<@1> and <@2>", null, 1),
+      new Quote(2, "tester", LocalDateTime.now(), "<@2> again <@2>", null, 1),
+      new Quote(3, "tester", LocalDateTime.now(), "nobody", null, 1)
+    );
+    willReturn(UserGenerator.getUsers()).given(userRepository).findAllByIds(List.of(1, 2));
+
+    final List<QuoteMessage> messages = instance.resolve(quotes);
+
+    then(userRepository).should(times(1)).findAllByIds(anyList());
+    assertThat(messages).map(QuoteMessage::id).containsExactly(1, 2, 3);
+    assertThat(messages.get(0).mentions()).map(User::id).containsExactly(1, 2);
+    assertThat(messages.get(1).mentions()).map(User::id).containsExactly(2);
+    assertThat(messages.get(2).mentions()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should not lookup users when nobody is mentioned")
+  void shouldNotLookupUsersWhenNobodyIsMentioned() {
+    final List<QuoteMessage> messages = instance.resolve(QuoteGenerator.getQuotes());
+
+    assertThat(messages).hasSize(QuoteGenerator.getQuotes().size());
+    then(userRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("Should skip unknown mentioned users")
+  void shouldSkipUnknownMentionedUsers() {
+    final Quote quote = new Quote(1, "tester", LocalDateTime.now(), "<@404>", null, 1);
+    willThrow(UserNotFoundException.class).given(userRepository).findAllByIds(List.of(404));
+
+    final QuoteMessage message = instance.resolve(quote);
+
+    assertThat(message.id()).isEqualTo(1);
+    assertThat(message.mentions()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should find existing mentioned user ids with one lookup")
+  void shouldFindExistingMentionedUserIdsWithOneLookup() {
+    willReturn(List.of(UserGenerator.getUsers().getFirst())).given(userRepository).findAllByIds(List.of(1, 404));
+
+    final Set<Integer> userIds = instance.findMentionedUserIds(List.of("<@1>", "<@404> and <@1>"));
+
+    then(userRepository).should(times(1)).findAllByIds(anyList());
+    assertThat(userIds).containsExactly(UserGenerator.getUsers().getFirst().id());
+  }
+}
@@ -0,0 +1,166 @@
+package de.zedalite.quotes.service;
+
+import de.zedalite.quotes.data.model.FailedNotification;
+import de.zedalite.quotes.data.model.PushNotification;
+import de.zedalite.quotes.data.model.TopicNotification;
+import de.zedalite.quotes.fixtures.PushNotificationGenerator;
+import de.zedalite.quotes.repository.PushNotificationRepository;
+import de.zedalite.quotes.repository.PushNotificationSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PushNotificationDispatcherTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private PushNotificationDispatcher instance;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    instance.stop();
+  }
+
+  @Test
+  @DisplayName("Should send dispatched notifications")
+  void shouldSendDispatchedNotifications() throws InterruptedException {
+    final StubSender sender = new StubSender(0);
+    instance = start(sender, 10, 5);
+
+    instance.dispatch("test", PushNotificationGenerator.getPushNotification());
+    instance.dispatch("test", PushNotificationGenerator.getPushNotification());
+
+    awaitUntil(() -> sender.sent.size() == 2);
+    assertThat(sender.sent).map(TopicNotification::topic).containsOnly("test");
+  }
+
+  @Test
+  @DisplayName("Should retry failed notifications")
+  void shouldRetryFailedNotifications() throws InterruptedException {
+    final StubSender sender = new StubSender(2);
+    instance = start(sender, 10, 5);
+
+    instance.dispatch("test", PushNotificationGenerator.getPushNotification());
+
+    awaitUntil(() -> meterRegistry.counter("quotes.notifications.sent").count() == 1);
+    assertThat(sender.sent).hasSize(1);
+    assertThat(sender.attempts.get()).isEqualTo(3);
+    assertThat(meterRegistry.counter("quotes.notifications.failed").count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should drop notifications after max attempts")
+  void shouldDropNotificationsAfterMaxAttempts() throws InterruptedException {
+    final StubSender sender = new StubSender(Integer.MAX_VALUE);
+    instance = start(sender, 10, 2);
+
+    instance.dispatch("test", PushNotificationGenerator.getPushNotification());
+
+    awaitUntil(() -> sender.attempts.get() == 2);
+    Thread.sleep(100);
+    assertThat(sender.attempts.get()).isEqualTo(2);
+    assertThat(sender.sent).isEmpty();
+    assertThat(meterRegistry.counter("quotes.notifications.dropped").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should not retry rejected notifications")
+  void shouldNotRetryRejectedNotifications() throws InterruptedException {
+    final StubSender sender = new StubSender(Integer.MAX_VALUE, true);
+    instance = start(sender, 10, 5);
+
+    instance.dispatch("test", PushNotificationGenerator.getPushNotification());
+
+    awaitUntil(() -> meterRegistry.counter("quotes.notifications.dropped").count() == 1);
+    Thread.sleep(100);
+    assertThat(sender.attempts.get()).isEqualTo(1);
+    assertThat(meterRegistry.counter("quotes.notifications.failed").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should limit batches to firebase maximum")
+  void shouldLimitBatchesToFirebaseMaximum() throws InterruptedException {
+    final StubSender sender = new StubSender(0);
+    instance = new PushNotificationDispatcher(sender, meterRegistry, 2000, 1000, 1, Duration.ofMillis(10));
+    for (int i = 0; i < 1000; i++) {
+      instance.dispatch("test", PushNotificationGenerator.getPushNotification());
+    }
+
+    instance.start();
+
+    awaitUntil(() -> sender.sent.size() == 1000);
+    assertThat(sender.batchSizes).allMatch(size -> size <= PushNotificationRepository.MAX_BATCH_SIZE);
+  }
+
+  @Test
+  @DisplayName("Should reject notifications when queue is full")
+  void shouldRejectNotificationsWhenQueueIsFull() {
+    instance = new PushNotificationDispatcher(new StubSender(0), meterRegistry, 1, 10, 1, Duration.ofMillis(10));
+    final PushNotification notification = PushNotificationGenerator.getPushNotification();
+
+    assertThat(instance.dispatch("test", notification)).isTrue();
+    assertThat(instance.dispatch("test", notification)).isFalse();
+    assertThat(meterRegistry.counter("quotes.notifications.dropped").count()).isEqualTo(1);
+    assertThat(meterRegistry.get("quotes.notifications.queued").gauge().value()).isEqualTo(1);
+  }
+
+  private static void awaitUntil(final BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+
+  private PushNotificationDispatcher start(final PushNotificationSender sender, final int capacity, final int maxAttempts) {
+    final PushNotificationDispatcher dispatcher = new PushNotificationDispatcher(sender, meterRegistry, capacity, 10, maxAttempts, Duration.ofMillis(10));
+    dispatcher.start();
+    return dispatcher;
+  }
+
+  private static class StubSender implements PushNotificationSender {
+
+    private final List<TopicNotification> sent = new CopyOnWriteArrayList<>();
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final int failures;
+
+    private final boolean isPermanent;
+
+    StubSender(final int failures) {
+      this(failures, false);
+    }
+
+    StubSender(final int failures, final boolean isPermanent) {
+      this.failures = failures;
+      this.isPermanent = isPermanent;
+    }
+
+    @Override
+    public void sendToTopic(final String topic, final PushNotification pushNotification) {
+      sent.add(new TopicNotification(topic, pushNotification));
+    }
+
+    @Override
+    public List<FailedNotification> sendEach(final List<TopicNotification> notifications) {
+      batchSizes.add(notifications.size());
+      if (attempts.incrementAndGet() <= failures) {
+        return notifications.stream().map(notification -> new FailedNotification(notification, isPermanent)).toList();
+      }
+      sent.addAll(notifications);
+      return List.of();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package de.zedalite.quotes.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class QuoteOfTheDayPickerTest {
+
+  @Test
+  @DisplayName("Should not pick excluded quotes")
+  void shouldNotPickExcludedQuotes() {
+    final QuoteOfTheDayPicker instance = new QuoteOfTheDayPicker(new int[]{10, 20, 30, 40}, 3);
+    instance.exclude(10);
+    instance.exclude(30);
+    instance.exclude(40);
+
+    assertThat(instance.pick()).isEqualTo(20);
+  }
+
+  @Test
+  @DisplayName("Should cycle through all quotes when window covers them")
+  void shouldCycleThroughAllQuotesWhenWindowCoversThem() {
+    final int[] quoteIds = IntStream.rangeClosed(1, 50).toArray();
+    final QuoteOfTheDayPicker instance = new QuoteOfTheDayPicker(quoteIds, 100);
+
+    final List<Integer> picks = new ArrayList<>();
+    for (int i = 0; i < 49; i++) picks.add(instance.pick());
+
+    assertThat(picks).doesNotHaveDuplicates();
+  }
+
+  @Test
+  @DisplayName("Should release quotes leaving the window")
+  void shouldReleaseQuotesLeavingTheWindow() {
+    final QuoteOfTheDayPicker instance = new QuoteOfTheDayPicker(new int[]{1, 2, 3}, 2);
+    instance.exclude(1);
+    instance.exclude(2);
+
+    assertThat(instance.pick()).isEqualTo(3);
+    assertThat(instance.pick()).isEqualTo(1);
+    assertThat(instance.pick()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should ignore unknown quotes")
+  void shouldIgnoreUnknownQuotes() {
+    final QuoteOfTheDayPicker instance = new QuoteOfTheDayPicker(new int[]{1, 2}, 1);
+    instance.exclude(404);
+    instance.exclude(1);
+
+    assertThat(instance.pick()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should throw exception without quotes")
+  void shouldThrowExceptionWithoutQuotes() {
+    assertThatCode(() -> new QuoteOfTheDayPicker(new int[0], 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,129 @@
+package de.zedalite.quotes.service;
+
+import de.zedalite.quotes.data.model.FailedNotification;
+import de.zedalite.quotes.data.model.QuoteOutboxEntry;
+import de.zedalite.quotes.data.model.TopicNotification;
+import de.zedalite.quotes.fixtures.QuoteGenerator;
+import de.zedalite.quotes.repository.PushNotificationRepository;
+import de.zedalite.quotes.repository.PushNotificationSender;
+import de.zedalite.quotes.repository.QuoteOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteOutboxRelayTest {
+
+  private QuoteOutboxRelay instance;
+
+  @Mock
+  private QuoteOutboxRepository repository;
+
+  @Mock
+  private PushNotificationSender sender;
+
+  private MeterRegistry meterRegistry;
+
+  private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+  private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    instance = new QuoteOutboxRelay(repository, sender, meterRegistry, 10, 3, INITIAL_BACKOFF, MAX_BACKOFF);
+  }
+
+  @Test
+  @DisplayName("Should delete relayed outbox entries")
+  void shouldDeleteRelayedOutboxEntries() {
+    willReturn(List.of(getEntry(1L, 0), getEntry(2L, 0))).given(repository).findPending(10);
+    willReturn(List.of()).given(sender).sendEach(anyList());
+
+    final int relayed = instance.relay();
+
+    assertThat(relayed).isEqualTo(2);
+    then(repository).should().delete(List.of(1L, 2L));
+    then(repository).should().incrementAttempts(List.of(), INITIAL_BACKOFF, MAX_BACKOFF);
+    assertThat(meterRegistry.counter("quotes.outbox.relayed").count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should keep failed outbox entries")
+  void shouldKeepFailedOutboxEntries() {
+    willReturn(List.of(getEntry(1L, 0), getEntry(2L, 2))).given(repository).findPending(10);
+    willAnswer(invocation -> invocation.<List<TopicNotification>>getArgument(0).stream()
+      .map(notification -> new FailedNotification(notification, false))
+      .toList()).given(sender).sendEach(anyList());
+
+    final int relayed = instance.relay();
+
+    assertThat(relayed).isZero();
+    then(repository).should().incrementAttempts(List.of(1L), INITIAL_BACKOFF, MAX_BACKOFF);
+    then(repository).should().delete(List.of(2L));
+    assertThat(meterRegistry.counter("quotes.outbox.failed").count()).isEqualTo(1);
+    assertThat(meterRegistry.counter("quotes.outbox.dropped").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should drop rejected outbox entries")
+  void shouldDropRejectedOutboxEntries() {
+    willReturn(List.of(getEntry(1L, 0))).given(repository).findPending(10);
+    willAnswer(invocation -> invocation.<List<TopicNotification>>getArgument(0).stream()
+      .map(notification -> new FailedNotification(notification, true))
+      .toList()).given(sender).sendEach(anyList());
+
+    instance.relay();
+
+    then(repository).should().delete(List.of(1L));
+    then(repository).should().incrementAttempts(List.of(), INITIAL_BACKOFF, MAX_BACKOFF);
+    assertThat(meterRegistry.counter("quotes.outbox.dropped").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should limit batch size to firebase maximum")
+  void shouldLimitBatchSizeToFirebaseMaximum() {
+    instance = new QuoteOutboxRelay(repository, sender, meterRegistry, 1000, 3, INITIAL_BACKOFF, MAX_BACKOFF);
+
+    assertThat(instance.getBatchSize()).isEqualTo(PushNotificationRepository.MAX_BATCH_SIZE);
+  }
+
+  @Test
+  @DisplayName("Should keep outbox entries when sender fails")
+  void shouldKeepOutboxEntriesWhenSenderFails() {
+    willReturn(List.of(getEntry(1L, 0))).given(repository).findPending(10);
+    willThrow(IllegalStateException.class).given(sender).sendEach(anyList());
+
+    instance.relay();
+
+    then(repository).should().incrementAttempts(List.of(1L), INITIAL_BACKOFF, MAX_BACKOFF);
+    then(repository).should().delete(List.of());
+  }
+
+  @Test
+  @DisplayName("Should not send when outbox is empty")
+  void shouldNotSendWhenOutboxIsEmpty() {
+    willReturn(List.of()).given(repository).findPending(10);
+
+    final int relayed = instance.relay();
+
+    assertThat(relayed).isZero();
+    then(sender).shouldHaveNoInteractions();
+  }
+
+  private static QuoteOutboxEntry getEntry(final Long id, final Integer attempts) {
+    return new QuoteOutboxEntry(id, 1, attempts, QuoteGenerator.getQuote());
+  }
+}
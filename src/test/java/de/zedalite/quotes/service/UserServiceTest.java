@@ -1,5 +1,6 @@
 package de.zedalite.quotes.service;
 
+import de.zedalite.quotes.auth.PrincipalCache;
 import de.zedalite.quotes.data.model.*;
 import de.zedalite.quotes.exceptions.ResourceAlreadyExitsException;
 import de.zedalite.quotes.exceptions.ResourceNotFoundException;
@@ -40,6 +41,9 @@ class UserServiceTest {
   @Mock
   private AuthenticationManager authenticationManager;
 
+  @Mock
+  private PrincipalCache principalCache;
+
   @Test
   @DisplayName("Should find user by name")
   void shouldFindUserByName() {
@@ -142,6 +146,7 @@ class UserServiceTest {
     instance.updatePassword(1, passwordRequest);
 
     then(repository).should().update(1, userRequest);
+    then(principalCache).should().invalidate(user.name());
   }
 
   @Test
@@ -167,6 +172,7 @@ class UserServiceTest {
     instance.updateDisplayName(1, displayNameRequest);
 
     then(repository).should().update(1, userRequest);
+    then(principalCache).should().invalidate(user.name());
   }
 
   @Test
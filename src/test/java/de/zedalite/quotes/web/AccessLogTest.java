@@ -0,0 +1,94 @@
+package de.zedalite.quotes.web;
+
+import de.zedalite.quotes.config.AccessLogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @TempDir
+  private Path directory;
+
+  private AccessLog instance;
+
+  @AfterEach
+  void tearDown() throws Exception {
+    instance.stop();
+  }
+
+  @Test
+  @DisplayName("Should write requests as json lines")
+  void shouldWriteRequestsAsJsonLines() throws Exception {
+    final Path file = start(4, Map.of());
+
+    instance.record(0, "GET", "/api/quotes", "limit=5", 200, "127.0.0.1", "tester", 1_500_000);
+    instance.record(1_005, "POST", "/api/auth/login", null, 401, "127.0.0.1", null, 2_000);
+    instance.flush();
+
+    assertThat(Files.readAllLines(file)).containsExactly(
+      "{\"timestamp\":\"1970-01-01T00:00:00.000Z\",\"method\":\"GET\",\"uri\":\"/api/quotes\",\"query\":\"limit=5\",\"status\":200,\"client\":\"127.0.0.1\",\"user\":\"tester\",\"durationMicros\":1500}",
+      "{\"timestamp\":\"1970-01-01T00:00:01.005Z\",\"method\":\"POST\",\"uri\":\"/api/auth/login\",\"query\":null,\"status\":401,\"client\":\"127.0.0.1\",\"user\":null,\"durationMicros\":2}");
+  }
+
+  @Test
+  @DisplayName("Should escape values")
+  void shouldEscapeValues() throws Exception {
+    final Path file = start(4, Map.of());
+
+    instance.record(0, "GET", "/api/\"quotes\"", "q=a\\b\n\u0001", 200, "127.0.0.1", null, 0);
+    instance.flush();
+
+    assertThat(Files.readString(file)).contains("\"uri\":\"/api/\\\"quotes\\\"\"", "\"query\":\"q=a\\\\b\\n\\u0001\"");
+  }
+
+  @Test
+  @DisplayName("Should drop requests when buffer is full")
+  void shouldDropRequestsWhenBufferIsFull() throws Exception {
+    final Path file = start(2, Map.of());
+
+    final List<Boolean> recorded = List.of(
+      instance.record(0, "GET", "/1", null, 200, "client", null, 0),
+      instance.record(0, "GET", "/2", null, 200, "client", null, 0),
+      instance.record(0, "GET", "/3", null, 200, "client", null, 0));
+    instance.flush();
+    instance.record(0, "GET", "/4", null, 200, "client", null, 0);
+    instance.flush();
+
+    assertThat(recorded).containsExactly(true, true, false);
+    assertThat(Files.readAllLines(file)).hasSize(3);
+    assertThat(meterRegistry.get("quotes.access-log.dropped").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should sample requests by longest prefix")
+  void shouldSampleRequestsByLongestPrefix() throws Exception {
+    start(2, Map.of("/actuator", 0.0, "/actuator/prometheus", 1.0));
+
+    assertThat(instance.isSampled("/api/actuator/health", 4, 200)).isFalse();
+    assertThat(instance.isSampled("/api/actuator/prometheus", 4, 200)).isTrue();
+    assertThat(instance.isSampled("/api/actuator/health", 4, 500)).isTrue();
+    assertThat(instance.isSampled("/api/quotes", 4, 200)).isTrue();
+  }
+
+  private Path start(final int capacity, final Map<String, Double> sampleRates) throws Exception {
+    final Path file = directory.resolve("access.log");
+    final AccessLogProperties properties = new AccessLogProperties(AccessLogProperties.Target.FILE, file, capacity, 2,
+      Duration.ofHours(1), sampleRates);
+    instance = new AccessLog(properties, meterRegistry);
+    instance.start();
+    return file;
+  }
+}
@@ -1,7 +1,9 @@
 package de.zedalite.quotes.web;
 
 import de.zedalite.quotes.auth.UserPrincipal;
+import de.zedalite.quotes.data.model.QuoteImport;
 import de.zedalite.quotes.data.model.QuoteMessage;
+import de.zedalite.quotes.data.model.QuotePage;
 import de.zedalite.quotes.data.model.QuoteRequest;
 import de.zedalite.quotes.data.model.SortField;
 import de.zedalite.quotes.data.model.SortOrder;
@@ -15,10 +17,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.BDDMockito.willReturn;
 
@@ -34,12 +40,23 @@ class GroupQuoteControllerTest {
   @Test
   @DisplayName("Should get group quotes")
   void shouldGetGroupQuotes() {
-    final List<QuoteMessage> expectedQuotes = QuoteGenerator.getQuoteMessages();
-    willReturn(expectedQuotes).given(service).findAll(anyInt(), any(SortField.class), any(SortOrder.class));
+    final QuotePage expectedPage = new QuotePage(QuoteGenerator.getQuoteMessages(), null);
+    willReturn(expectedPage).given(service).findAll(anyInt(), any(SortField.class), any(SortOrder.class), any(), anyInt());
 
-    instance.getQuotes(1, SortField.CREATION_DATE, SortOrder.ASC);
+    instance.getQuotes(1, SortField.CREATION_DATE, SortOrder.ASC, null, 50);
 
-    then(service).should().findAll(1, SortField.CREATION_DATE, SortOrder.ASC);
+    then(service).should().findAll(1, SortField.CREATION_DATE, SortOrder.ASC, null, 50);
+  }
+
+  @Test
+  @DisplayName("Should search group quotes")
+  void shouldSearchGroupQuotes() {
+    final QuotePage expectedPage = new QuotePage(QuoteGenerator.getQuoteMessages(), null);
+    willReturn(expectedPage).given(service).search(anyInt(), anyString(), any(), anyInt());
+
+    instance.searchQuotes(1, "test", null, 50);
+
+    then(service).should().search(1, "test", null, 50);
   }
 
   @Test
@@ -76,6 +93,18 @@ class GroupQuoteControllerTest {
     then(service).should().create(1, quoteRequest, 1);
   }
 
+  @Test
+  @DisplayName("Should import group quotes")
+  void shouldImportGroupQuotes() {
+    final InputStream body = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+    final UserPrincipal principal = UserGenerator.getUserPrincipal();
+    willReturn(new QuoteImport(0, 0)).given(service).importQuotes(anyInt(), any(InputStream.class), anyInt());
+
+    instance.importQuotes(1, body, principal);
+
+    then(service).should().importQuotes(1, body, 1);
+  }
+
   @Test
   @DisplayName("Should get random group quotes")
   void shouldGetRandomGroupQuotes() {
@@ -0,0 +1,54 @@
+package de.zedalite.quotes.web;
+
+import de.zedalite.quotes.repository.QueryStatistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryStatisticsEndpointTest {
+
+  @InjectMocks
+  private QueryStatisticsEndpoint instance;
+
+  @Mock
+  private QueryStatistics statistics;
+
+  @Test
+  @DisplayName("Should list queries with default limit")
+  void shouldListQueriesWithDefaultLimit() {
+    willReturn(List.of()).given(statistics).getStatements(20);
+    willReturn(List.of()).given(statistics).getSlowQueries();
+
+    final QueryStatisticsEndpoint.QueryReport report = instance.queries(null);
+
+    assertThat(report.statements()).isEmpty();
+    assertThat(report.slowQueries()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should list queries with limit")
+  void shouldListQueriesWithLimit() {
+    instance.queries(5);
+
+    then(statistics).should().getStatements(5);
+  }
+
+  @Test
+  @DisplayName("Should throw exception when limit is negative")
+  void shouldThrowExceptionWhenLimitIsNegative() {
+    assertThatCode(() -> instance.queries(-1)).isInstanceOf(InvalidEndpointRequestException.class);
+    then(statistics).should(never()).getStatements(anyInt());
+  }
+}
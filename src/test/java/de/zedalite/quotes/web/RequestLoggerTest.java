@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -24,12 +25,27 @@ class RequestLoggerTest extends TestEnvironmentProvider {
   @Autowired
   private MockMvc mockMvc;
 
+  @Autowired
+  private AccessLog accessLog;
+
   @Test
   @DisplayName("Should log request")
   void shouldLogRequest(final CapturedOutput output) throws Exception {
     mockMvc.perform(get("/quotes/count"))
       .andExpect(status().isOk());
+    accessLog.flush();
+
+    assertThat(output).contains("\"method\":\"GET\",\"uri\":\"/quotes/count\"", "\"status\":200", "\"client\"", "\"user\":\"user\"", "\"durationMicros\"");
+  }
+
+  @Test
+  @DisplayName("Should log request without authentication")
+  @WithAnonymousUser
+  void shouldLogRequestWithoutAuthentication(final CapturedOutput output) throws Exception {
+    mockMvc.perform(get("/auth/login"))
+      .andExpect(status().isMethodNotAllowed());
+    accessLog.flush();
 
-    assertThat(output).contains("request", "GET /quotes/count", "status=200", "client", "user", "duration");
+    assertThat(output).contains("\"method\":\"GET\",\"uri\":\"/auth/login\"", "\"status\":405");
   }
 }